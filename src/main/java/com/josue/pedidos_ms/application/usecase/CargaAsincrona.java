@@ -0,0 +1,75 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.shared.dto.EstadoCargaResponse;
+import com.josue.pedidos_ms.shared.dto.ResultadoCargaResponse;
+
+import java.time.Instant;
+
+/**
+ * Carga registrada para procesarse en segundo plano.
+ */
+public class CargaAsincrona {
+
+  public enum Estado {
+    EN_COLA,
+    EN_PROCESO,
+    COMPLETADA,
+    FALLIDA
+  }
+
+  private final String id;
+  private final String archivo;
+  private final Instant creada = Instant.now();
+  private final ProgresoCarga progreso = new ProgresoCarga();
+  private volatile Estado estado = Estado.EN_COLA;
+  private volatile Instant finalizada;
+  private volatile ResultadoCargaResponse resultado;
+
+  public CargaAsincrona(String id, String archivo) {
+    this.id = id;
+    this.archivo = archivo;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public ProgresoCarga getProgreso() {
+    return progreso;
+  }
+
+  public Estado getEstado() {
+    return estado;
+  }
+
+  public Instant getFinalizada() {
+    return finalizada;
+  }
+
+  void iniciar() {
+    estado = Estado.EN_PROCESO;
+  }
+
+  void finalizar(Estado estadoFinal, ResultadoCargaResponse resultadoFinal) {
+    resultado = resultadoFinal;
+    finalizada = Instant.now();
+    estado = estadoFinal;
+  }
+
+  /**
+   * Fotografía del estado actual para la respuesta HTTP.
+   */
+  public EstadoCargaResponse aRespuesta() {
+    return new EstadoCargaResponse(
+        id,
+        estado.name(),
+        archivo,
+        progreso.getFilasLeidas(),
+        progreso.getFilasValidadas(),
+        progreso.getFilasGuardadas(),
+        progreso.getErrores(),
+        creada,
+        finalizada,
+        resultado);
+  }
+}
@@ -0,0 +1,118 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.infrastructure.config.CargaProperties;
+import com.josue.pedidos_ms.infrastructure.csv.ArchivoCsv;
+import com.josue.pedidos_ms.shared.dto.EstadoCargaResponse;
+import com.josue.pedidos_ms.shared.dto.ResultadoCargaResponse;
+import com.josue.pedidos_ms.shared.error.CargaNoEncontradaException;
+import com.josue.pedidos_ms.shared.error.CargaRechazadaException;
+import com.josue.pedidos_ms.shared.error.CsvValidationException;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caso de uso para cargas asíncronas: guarda el archivo en disco, lo encola en
+ * un pool acotado y permite consultar el avance mientras se procesa.
+ */
+@Service
+@RequiredArgsConstructor
+public class CargaAsincronaUseCase extends BaseLogger {
+
+  private final CargarPedidosUseCase cargarPedidosUseCase;
+  private final ThreadPoolTaskExecutor cargaAsincronaExecutor;
+  private final CargaProperties cargaProperties;
+
+  private final Map<String, CargaAsincrona> cargas = new ConcurrentHashMap<>();
+
+  /**
+   * Registra la carga y la encola para procesarse en segundo plano.
+   *
+   * @param file Archivo CSV recibido
+   * @return Estado inicial de la carga
+   * @throws CargaRechazadaException si la cola de cargas está llena
+   */
+  public EstadoCargaResponse iniciar(MultipartFile file) {
+    depurarFinalizadas();
+
+    ArchivoCsv archivo = ArchivoCsv.preparar(file, Path.of(cargaProperties.getAsincrona().getDirectorio()));
+    CargaAsincrona carga = new CargaAsincrona(UUID.randomUUID().toString(), archivo.nombre());
+    cargas.put(carga.getId(), carga);
+
+    try {
+      cargaAsincronaExecutor.execute(() -> ejecutar(carga, archivo));
+    } catch (TaskRejectedException e) {
+      cargas.remove(carga.getId());
+      archivo.close();
+      logWarn(LogEvents.ERROR_SISTEMA,
+          "Carga rechazada por falta de capacidad: {}", archivo.nombre());
+      throw new CargaRechazadaException("No hay capacidad para nuevas cargas, intente más tarde", e);
+    }
+
+    logInfo(LogEvents.INICIO_CARGA_CSV,
+        "Carga asíncrona {} encolada - Archivo: {}", carga.getId(), archivo.nombre());
+    return carga.aRespuesta();
+  }
+
+  /**
+   * Consulta el estado de una carga.
+   *
+   * @throws CargaNoEncontradaException si la carga no existe o ya expiró
+   */
+  public EstadoCargaResponse consultar(String id) {
+    CargaAsincrona carga = cargas.get(id);
+    if (carga == null) {
+      throw new CargaNoEncontradaException("Carga no encontrada: " + id);
+    }
+    return carga.aRespuesta();
+  }
+
+  private void ejecutar(CargaAsincrona carga, ArchivoCsv archivo) {
+    carga.iniciar();
+    try (archivo) {
+      ResultadoCargaResponse resultado = cargarPedidosUseCase.procesarArchivo(archivo, carga.getProgreso());
+      carga.finalizar(CargaAsincrona.Estado.COMPLETADA, resultado);
+    } catch (CsvValidationException e) {
+      carga.finalizar(CargaAsincrona.Estado.FALLIDA, fallo(carga, e.getMessage(), "CSV_INVALIDO"));
+    } catch (CargaRechazadaException e) {
+      carga.finalizar(CargaAsincrona.Estado.FALLIDA, fallo(carga, e.getMessage(), "CARGA_RECHAZADA"));
+    } catch (Exception e) {
+      logError(LogEvents.ERROR_SISTEMA,
+          "Error inesperado en la carga asíncrona {}", carga.getId(), e);
+      carga.finalizar(CargaAsincrona.Estado.FALLIDA, fallo(carga, "Error inesperado en el servidor", "ERROR_INTERNO"));
+    } finally {
+      logInfo(LogEvents.FIN_CARGA_CSV,
+          "Carga asíncrona {} finalizada con estado {}", carga.getId(), carga.getEstado());
+    }
+  }
+
+  private ResultadoCargaResponse fallo(CargaAsincrona carga, String motivo, String tipo) {
+    return new ResultadoCargaResponse(
+        0,
+        0,
+        List.of(new ResultadoCargaResponse.ErrorDetalle(0, "", motivo, tipo)),
+        carga.getId(),
+        0L);
+  }
+
+  /**
+   * Elimina el estado de las cargas finalizadas hace más tiempo que la
+   * retención configurada.
+   */
+  private void depurarFinalizadas() {
+    Instant limite = Instant.now().minus(Duration.ofMinutes(cargaProperties.getAsincrona().getRetencionMinutos()));
+    cargas.values().removeIf(carga -> carga.getFinalizada() != null && carga.getFinalizada().isBefore(limite));
+  }
+}
@@ -1,33 +1,46 @@
 package com.josue.pedidos_ms.application.usecase;
 
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
 import com.josue.pedidos_ms.domain.model.*;
 import com.josue.pedidos_ms.domain.service.*;
+import com.josue.pedidos_ms.infrastructure.config.CargaProperties;
+import com.josue.pedidos_ms.infrastructure.csv.ArchivoCsv;
+import com.josue.pedidos_ms.infrastructure.csv.BytesCsvParser;
+import com.josue.pedidos_ms.infrastructure.csv.FilaCsv;
+import com.josue.pedidos_ms.infrastructure.csv.LectorCsv;
+import com.josue.pedidos_ms.infrastructure.csv.OpenCsvParser;
+import com.josue.pedidos_ms.infrastructure.csv.ParserCsv;
+import com.josue.pedidos_ms.infrastructure.csv.SegmentadorCsv;
+import com.josue.pedidos_ms.infrastructure.csv.TokenizadorCsv;
 import com.josue.pedidos_ms.infrastructure.repository.*;
 import com.josue.pedidos_ms.shared.dto.PedidoCsvDTO;
 import com.josue.pedidos_ms.shared.dto.ResultadoCargaResponse;
+import com.josue.pedidos_ms.shared.error.CargaRechazadaException;
 import com.josue.pedidos_ms.shared.error.CsvValidationException;
 import com.josue.pedidos_ms.shared.logging.BaseLogger;
 import com.josue.pedidos_ms.shared.logging.LogContext;
 import com.josue.pedidos_ms.shared.logging.LogEvents;
+import com.josue.pedidos_ms.shared.logging.MuestreoLog;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Service
 @RequiredArgsConstructor
 public class CargarPedidosUseCase extends BaseLogger {
 
-  private final PedidoRepository pedidoRepository;
-  private final ClienteRepository clienteRepository;
-  private final ZonaRepository zonaRepository;
+  private final InsercionMasivaPedidos insercionMasivaPedidos;
+  private final ResolutorReferencias resolutorReferencias;
 
   // Validadores específicos con logging
   private final PedidoValidator pedidoValidator;
@@ -36,36 +49,71 @@ public class CargarPedidosUseCase extends BaseLogger {
   private final EstadoValidator estadoValidator;
   private final FechaValidator fechaValidator;
 
+  private final CargaProperties cargaProperties;
+  private final ParserCsv parserCsv;
+  private final ForkJoinPool cargaForkJoinPool;
+  private final ThreadPoolExecutor cargaPipelineExecutor;
+  private final MetricasPipeline metricasPipeline;
+  private final MetricasCarga metricasCarga;
+  private final ApplicationEventPublisher eventPublisher;
+
   public ResultadoCargaResponse procesarArchivo(MultipartFile file) {
+    try (ArchivoCsv archivo = ArchivoCsv.de(file)) {
+      return procesarArchivo(archivo, new ProgresoCarga());
+    }
+  }
+
+  /**
+   * Procesa un archivo CSV informando el avance en {@code progreso}.
+   * El archivo pertenece al llamador, que es responsable de cerrarlo.
+   *
+   * @param archivo  Archivo CSV a cargar
+   * @param progreso Contadores de avance actualizados durante la carga
+   * @return Resultado de la carga
+   */
+  public ResultadoCargaResponse procesarArchivo(ArchivoCsv archivo, ProgresoCarga progreso) {
+    // Al terminar se vuelve al contexto del llamador, que sigue registrando
+    LogContext.Ambito ambitoLog = LogContext.abrir();
     LogContext.setOperacion("CARGA_CSV");
+    LogContext.setArchivo(archivo.nombre());
     long inicioTiempo = System.currentTimeMillis();
+    long inicioCarga = metricasCarga.iniciar();
+    String resultado = MetricasCarga.CARGA_FALLIDA;
 
     logInfo(LogEvents.INICIO_CARGA_CSV,
         "Iniciando procesamiento de archivo: {} (tamaño: {} bytes)",
-        file.getOriginalFilename(), file.getSize());
-
-    int total = 0;
-    int guardados = 0;
-    List<Pedido> pedidosValidos = new ArrayList<>();
-    List<ResultadoCargaResponse.ErrorDetalle> errores = new ArrayList<>();
-
-    try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
-        CSVReader csvReader = new CSVReader(reader)) {
+        archivo.nombre(), archivo.tamano());
+
+    EventosCarga.Inicio eventoInicio = new EventosCarga.Inicio();
+    if (eventoInicio.shouldCommit()) {
+      eventoInicio.archivo = archivo.nombre();
+      eventoInicio.bytes = archivo.tamano();
+      eventoInicio.modo = cargaProperties.getModo().name();
+      eventoInicio.commit();
+    }
+    EventosCarga.Fin eventoFin = new EventosCarga.Fin();
+    eventoFin.begin();
 
-      List<String[]> filas;
+    CargaProperties.Muestreo muestreo = cargaProperties.getMuestreo();
+    ContextoLote contexto = new ContextoLote(archivo.nombre(), progreso, LocalDate.now().toEpochDay(),
+        cargaProperties.getUmbralFilaLenta().toNanos(),
+        new EstadisticasCarga(new MuestreoLog(muestreo.getPrimeros(), muestreo.getCada()), metricasCarga),
+        new NumerosEnCurso());
+    ConteoCarga conteo = new ConteoCarga(new ErroresCarga(cargaProperties.getMaxErrores()), contexto);
 
-      try {
-        filas = csvReader.readAll();
-      } catch (IOException | CsvException e) {
-        logError(LogEvents.ERROR_LECTURA_CSV,
-            "Error al leer archivo CSV: {}", file.getOriginalFilename(), e);
-        throw new CsvValidationException("Archivo CSV ilegible o mal formateado: " + e.getMessage(), e);
+    try {
+      switch (cargaProperties.getModo()) {
+        case PARALELO -> procesarEnParalelo(archivo, conteo);
+        case PIPELINE -> procesarEnPipeline(archivo, conteo);
+        default -> procesarSecuencial(archivo, conteo);
       }
+      // Último bloque de commit, con los pedidos válidos que queden pendientes
+      confirmar(conteo, conteo.pendientes.size());
 
-      if (filas.size() <= 1) {
+      if (conteo.total == 0) {
+        resultado = MetricasCarga.CARGA_VACIA;
         logWarn(LogEvents.ARCHIVO_VACIO,
-            "Archivo CSV vacío o solo con cabecera: {} filas", filas.size());
-        LogContext.clear();
+            "Archivo CSV vacío o solo con cabecera: {}", archivo.nombre());
         long tiempoProcesamiento = System.currentTimeMillis() - inicioTiempo;
         return new ResultadoCargaResponse(
             0,
@@ -74,126 +122,733 @@ public class CargarPedidosUseCase extends BaseLogger {
             UUID.randomUUID().toString(),
             tiempoProcesamiento);
       }
+      resultado = conteo.errores.total() == 0 ? MetricasCarga.CARGA_EXITO : MetricasCarga.CARGA_CON_ERRORES;
 
-      logInfo(LogEvents.INICIO_CARGA_CSV,
-          "Procesando {} filas de datos (excluyendo cabecera)", filas.size() - 1);
+    } catch (CsvValidationException e) {
+      logError(LogEvents.ERROR_LECTURA_CSV,
+          "Error al leer archivo CSV: {}", archivo.nombre(), e);
+      // Re-lanzar excepciones de CSV para manejo en el controlador
+      throw e;
+    } catch (CargaRechazadaException e) {
+      // Sobrecarga, no un fallo de la carga: el controlador responde 503
+      throw e;
+    } catch (Exception e) {
+      logError(LogEvents.ERROR_LECTURA_CSV,
+          "Error general al procesar archivo CSV", e);
+      conteo.errores.agregar(new ResultadoCargaResponse.ErrorDetalle(0, "", e.getMessage(), "ERROR_SISTEMA"));
+      conteo.progreso.sumarErrores(1);
+    } finally {
+      metricasCarga.finalizar(inicioCarga, resultado, archivo.tamano(), conteo.total);
+      eventoFin.end();
+      if (eventoFin.shouldCommit()) {
+        eventoFin.archivo = archivo.nombre();
+        eventoFin.bytes = archivo.tamano();
+        eventoFin.filas = conteo.total;
+        eventoFin.guardados = conteo.guardados;
+        eventoFin.errores = conteo.errores.total();
+        eventoFin.resultado = resultado;
+        eventoFin.commit();
+      }
+      ambitoLog.close();
+    }
 
-      for (int i = 1; i < filas.size(); i++) { // Ignora cabecera
-        total++;
-        String[] campos = filas.get(i);
+    // Log de resumen final: sustituye a los logs por fila omitidos por el muestreo
+    logInfo(LogEvents.RESUMEN_PROCESAMIENTO,
+        "Procesamiento completado - Total: {}, Guardados: {}, Errores: {}, {}",
+        conteo.total, conteo.guardados, conteo.errores.total(), conteo.contexto.estadisticas().resumen());
 
-        // Validar que la fila tenga todos los campos
-        if (campos.length < 6) {
-          errores.add(new ResultadoCargaResponse.ErrorDetalle(
-              i + 1,
-              campos.length > 0 ? campos[0] : "N/A",
-              "Faltan campos en la fila",
-              "FILA_INCOMPLETA"));
+    long tiempoProcesamiento = System.currentTimeMillis() - inicioTiempo;
+    String requestId = UUID.randomUUID().toString();
+
+    return new ResultadoCargaResponse(conteo.total, conteo.guardados, conteo.errores.detalles(), requestId,
+        tiempoProcesamiento, conteo.commits, conteo.errores.total());
+  }
+
+  /**
+   * Lee el archivo fila a fila en el hilo actual; solo el lote en curso
+   * permanece en memoria.
+   */
+  private void procesarSecuencial(ArchivoCsv archivo, ConteoCarga conteo) {
+    int tamanoLote = Math.max(1, cargaProperties.getTamanoLote());
+
+    try (LectorCsv lector = parserCsv.abrir(archivo)) {
+      // Cabecera: se lee y se descarta
+      if (lector.siguiente() == null) {
+        return;
+      }
+
+      ContextoLote contexto = conteo.contexto;
+      List<FilaCsv> filas = new ArrayList<>(tamanoLote);
+      long inicio = System.nanoTime();
+      EventosCarga.Lectura lectura = EventosCarga.iniciarLectura();
+      FilaCsv fila;
+      while ((fila = lector.siguiente()) != null) {
+        filas.add(fila.fijar());
+        if (filas.size() >= tamanoLote) {
+          medirLectura(contexto, lectura, filas, System.nanoTime() - inicio);
+          conteo.progreso.sumarLeidas(filas.size());
+          consumirLote(procesarLote(filas, contexto), conteo);
+          filas.clear();
+          inicio = System.nanoTime();
+          lectura = EventosCarga.iniciarLectura();
+        }
+      }
+      medirLectura(contexto, lectura, filas, System.nanoTime() - inicio);
+      conteo.progreso.sumarLeidas(filas.size());
+      consumirLote(procesarLote(filas, conteo.contexto), conteo);
+    }
+  }
+
+  /**
+   * Divide el archivo en lotes por límites de registro y los valida en el pool
+   * de carga. Los resultados se consumen en el orden del archivo, de modo que
+   * los errores quedan ordenados por línea igual que en el modo secuencial.
+   *
+   * Los segmentos se delimitan sobre el archivo mapeado con las reglas del
+   * tokenizador de bytes, así que solo se usan con el parser {@code bytes} y
+   * archivos que caben en un mapeo. En otro caso el archivo se lee en
+   * streaming en el hilo actual y solo la validación es paralela.
+   */
+  private void procesarEnParalelo(ArchivoCsv archivo, ConteoCarga conteo) {
+    // Lotes en vuelo acotados para no retener el archivo completo validado
+    int maxEnVuelo = Math.max(1, cargaProperties.getParalelismo()) * 2;
+    Deque<Future<ResultadoLote>> enVuelo = new ArrayDeque<>(maxEnVuelo);
+
+    try {
+      if (!(parserCsv instanceof BytesCsvParser)) {
+        logInfo(LogEvents.INICIO_CARGA_CSV,
+            "Lectura en streaming con el parser {}: los segmentos requieren el parser bytes",
+            cargaProperties.getParser());
+        leerEnParalelo(parserCsv, archivo, conteo, enVuelo, maxEnVuelo);
+      } else if (archivo.tamano() > BytesCsvParser.TAMANO_MAXIMO) {
+        logInfo(LogEvents.INICIO_CARGA_CSV,
+            "Lectura en streaming con OpenCSV: el archivo ({} bytes) supera el máximo que se puede mapear ({} bytes)",
+            archivo.tamano(), BytesCsvParser.TAMANO_MAXIMO);
+        leerEnParalelo(new OpenCsvParser(), archivo, conteo, enVuelo, maxEnVuelo);
+      } else {
+        ByteBuffer buffer = BytesCsvParser.mapear(archivo);
+        List<SegmentadorCsv.Segmento> segmentos = SegmentadorCsv.dividir(
+            buffer, Math.max(1, cargaProperties.getTamanoLote()));
+
+        logInfo(LogEvents.INICIO_CARGA_CSV,
+            "Procesando {} lotes en paralelo con {} hilos",
+            segmentos.size(), cargaForkJoinPool.getParallelism());
+
+        for (SegmentadorCsv.Segmento segmento : segmentos) {
+          enviar(() -> procesarSegmento(buffer, segmento, conteo.contexto), conteo, enVuelo, maxEnVuelo);
+        }
+      }
+      while (!enVuelo.isEmpty()) {
+        consumirLote(esperar(enVuelo.removeFirst()), conteo);
+      }
+    } finally {
+      enVuelo.forEach(pendiente -> pendiente.cancel(true));
+    }
+  }
+
+  /**
+   * Lee el archivo por lotes en el hilo actual y envía cada uno a validar al
+   * pool de carga.
+   */
+  private void leerEnParalelo(ParserCsv parser, ArchivoCsv archivo, ConteoCarga conteo,
+      Deque<Future<ResultadoLote>> enVuelo, int maxEnVuelo) {
+    int tamanoLote = Math.max(1, cargaProperties.getTamanoLote());
+
+    try (LectorCsv lector = parser.abrir(archivo)) {
+      // Cabecera: se lee y se descarta
+      if (lector.siguiente() == null) {
+        return;
+      }
+
+      ContextoLote contexto = conteo.contexto;
+      List<FilaCsv> filas = new ArrayList<>(tamanoLote);
+      long inicio = System.nanoTime();
+      EventosCarga.Lectura lectura = EventosCarga.iniciarLectura();
+      FilaCsv fila;
+      while ((fila = lector.siguiente()) != null) {
+        filas.add(fila.fijar());
+        if (filas.size() >= tamanoLote) {
+          medirLectura(contexto, lectura, filas, System.nanoTime() - inicio);
+          conteo.progreso.sumarLeidas(filas.size());
+          List<FilaCsv> lote = filas;
+          enviar(() -> procesarLote(lote, contexto), conteo, enVuelo, maxEnVuelo);
+          filas = new ArrayList<>(tamanoLote);
+          inicio = System.nanoTime();
+          lectura = EventosCarga.iniciarLectura();
+        }
+      }
+      if (!filas.isEmpty()) {
+        medirLectura(contexto, lectura, filas, System.nanoTime() - inicio);
+        conteo.progreso.sumarLeidas(filas.size());
+        List<FilaCsv> lote = filas;
+        enviar(() -> procesarLote(lote, contexto), conteo, enVuelo, maxEnVuelo);
+      }
+    }
+  }
+
+  /**
+   * Envía un lote a validar, consumiendo antes el más antiguo si ya hay
+   * {@code maxEnVuelo} en curso.
+   */
+  private void enviar(Callable<ResultadoLote> lote, ConteoCarga conteo, Deque<Future<ResultadoLote>> enVuelo,
+      int maxEnVuelo) {
+    if (enVuelo.size() >= maxEnVuelo) {
+      consumirLote(esperar(enVuelo.removeFirst()), conteo);
+    }
+    enVuelo.addLast(cargaForkJoinPool.submit(lote));
+  }
+
+  private ResultadoLote procesarSegmento(ByteBuffer buffer, SegmentadorCsv.Segmento segmento,
+      ContextoLote contexto) {
+    long inicio = System.nanoTime();
+    EventosCarga.Lectura lectura = EventosCarga.iniciarLectura();
+    try (TokenizadorCsv tokenizador = segmento.tokenizar(buffer)) {
+      List<FilaCsv> filas = new ArrayList<>();
+      FilaCsv fila;
+      while ((fila = tokenizador.siguiente()) != null) {
+        // La cabecera es siempre el primer registro del primer segmento
+        if (fila.linea() > 1) {
+          filas.add(fila.fijar());
+        }
+      }
+      medirLectura(contexto, lectura, filas, System.nanoTime() - inicio);
+      contexto.progreso().sumarLeidas(filas.size());
+      return procesarLote(filas, contexto);
+    }
+  }
+
+  /**
+   * Lectura, validación y persistencia como etapas concurrentes: un hilo lee
+   * lotes, {@code paralelismo} hilos los validan y el hilo actual los persiste
+   * en el orden del archivo. Las colas entre etapas son acotadas, así que una
+   * base de datos lenta frena la lectura en lugar de acumular lotes.
+   */
+  private void procesarEnPipeline(ArchivoCsv archivo, ConteoCarga conteo) {
+    int validadores = Math.max(1, cargaProperties.getParalelismo());
+    int capacidad = Math.max(1, cargaProperties.getPipeline().getCapacidadCola());
+    PipelineCarga<ResultadoLote> pipeline = new PipelineCarga<>(capacidad, validadores, metricasPipeline);
+
+    logInfo(LogEvents.INICIO_CARGA_CSV,
+        "Procesando en pipeline con {} validadores y colas de {} lotes", validadores, capacidad);
+
+    List<Future<?>> etapas = new ArrayList<>(validadores + 1);
+    metricasPipeline.registrar(pipeline);
+    try {
+      try {
+        etapas.add(cargaPipelineExecutor.submit(() -> leerEnPipeline(archivo, pipeline, conteo.contexto)));
+        for (int i = 0; i < validadores; i++) {
+          etapas.add(cargaPipelineExecutor.submit(() -> validarEnPipeline(pipeline, conteo.contexto)));
+        }
+      } catch (RejectedExecutionException e) {
+        logWarn(LogEvents.ERROR_SISTEMA,
+            "Carga rechazada: sin hilos libres para las {} etapas del pipeline", validadores + 1);
+        throw new CargaRechazadaException("No hay capacidad para nuevas cargas, intente más tarde", e);
+      }
+      persistirEnPipeline(pipeline, conteo);
+    } finally {
+      // Sin efecto si las etapas ya terminaron; si no, las desbloquea
+      etapas.forEach(etapa -> etapa.cancel(true));
+      metricasPipeline.desregistrar(pipeline);
+    }
+
+    logInfo(LogEvents.RESUMEN_PROCESAMIENTO, "Pipeline - {}", pipeline.resumen());
+  }
+
+  private void leerEnPipeline(ArchivoCsv archivo, PipelineCarga<ResultadoLote> pipeline, ContextoLote contexto) {
+    int tamanoLote = Math.max(1, cargaProperties.getTamanoLote());
+
+    try (LectorCsv lector = parserCsv.abrir(archivo)) {
+      // Cabecera: se lee y se descarta
+      if (lector.siguiente() != null) {
+        int secuencia = 0;
+        List<FilaCsv> filas = new ArrayList<>(tamanoLote);
+        long inicio = System.nanoTime();
+        EventosCarga.Lectura lectura = EventosCarga.iniciarLectura();
+        FilaCsv fila;
+        while ((fila = lector.siguiente()) != null) {
+          filas.add(fila.fijar());
+          if (filas.size() >= tamanoLote) {
+            medirLectura(pipeline, contexto, lectura, filas, System.nanoTime() - inicio);
+            contexto.progreso().sumarLeidas(filas.size());
+            pipeline.publicarLeido(secuencia++, filas);
+            filas = new ArrayList<>(tamanoLote);
+            inicio = System.nanoTime();
+            lectura = EventosCarga.iniciarLectura();
+          }
+        }
+        if (!filas.isEmpty()) {
+          medirLectura(pipeline, contexto, lectura, filas, System.nanoTime() - inicio);
+          contexto.progreso().sumarLeidas(filas.size());
+          pipeline.publicarLeido(secuencia, filas);
+        }
+      }
+      pipeline.finLectura();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException | Error e) {
+      pipeline.fallar(e);
+    }
+  }
+
+  private static void medirLectura(PipelineCarga<ResultadoLote> pipeline, ContextoLote contexto,
+      EventosCarga.Lectura lectura, List<FilaCsv> filas, long nanos) {
+    pipeline.medir(PipelineCarga.Etapa.LECTURA, filas.size(), nanos);
+    medirLectura(contexto, lectura, filas, nanos);
+  }
+
+  private static void medirLectura(ContextoLote contexto, EventosCarga.Lectura lectura, List<FilaCsv> filas,
+      long nanos) {
+    contexto.estadisticas().medir(EstadisticasCarga.Etapa.LECTURA, nanos);
+    EventosCarga.registrarLectura(lectura, contexto.archivo(), filas);
+  }
+
+  private void validarEnPipeline(PipelineCarga<ResultadoLote> pipeline, ContextoLote contexto) {
+    try {
+      PipelineCarga.Lote<List<FilaCsv>> lote;
+      while (!(lote = pipeline.siguienteLeido()).esFin()) {
+        long inicio = System.nanoTime();
+        ResultadoLote resultado = procesarLote(lote.contenido(), contexto);
+        pipeline.medir(PipelineCarga.Etapa.VALIDACION, resultado.total(), System.nanoTime() - inicio);
+        pipeline.publicarValidado(lote.secuencia(), resultado);
+      }
+      pipeline.finValidador();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException | Error e) {
+      pipeline.fallar(e);
+    }
+  }
+
+  /**
+   * Etapa de persistencia: reordena los lotes validados por secuencia y los
+   * consume en el orden del archivo, igual que los otros modos.
+   */
+  private void persistirEnPipeline(PipelineCarga<ResultadoLote> pipeline, ConteoCarga conteo) {
+    Map<Integer, ResultadoLote> enEspera = new HashMap<>();
+    int siguiente = 0;
+    int validadoresActivos = pipeline.validadores();
+
+    try {
+      while (validadoresActivos > 0) {
+        PipelineCarga.Lote<ResultadoLote> lote = pipeline.siguienteValidado();
+        pipeline.lanzarSiFallo();
+        if (lote.esFin()) {
+          validadoresActivos--;
           continue;
         }
 
+        enEspera.put(lote.secuencia(), lote.contenido());
+        ResultadoLote resultado;
+        while ((resultado = enEspera.remove(siguiente)) != null) {
+          long inicio = System.nanoTime();
+          consumirLote(resultado, conteo);
+          pipeline.medir(PipelineCarga.Etapa.PERSISTENCIA, resultado.total(), System.nanoTime() - inicio);
+          pipeline.liberar();
+          siguiente++;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Carga interrumpida", e);
+    }
+  }
+
+  private ResultadoLote esperar(Future<ResultadoLote> pendiente) {
+    try {
+      return pendiente.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Carga interrumpida", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException causa) {
+        throw causa;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Valida y convierte las filas de un lote, conservando el orden del archivo.
+   */
+  private ResultadoLote procesarLote(List<FilaCsv> filas, ContextoLote contexto) {
+    EstadisticasCarga estadisticas = contexto.estadisticas();
+    MetricasCarga.MedicionLote medicion = new MetricasCarga.MedicionLote();
+    EventosCarga.Validacion eventoValidacion = new EventosCarga.Validacion();
+    eventoValidacion.begin();
+    if (!filas.isEmpty()) {
+      LogContext.setLineas(filas.get(0).linea(), filas.get(filas.size() - 1).linea());
+    }
+    long inicio = System.nanoTime();
+    long nanosConversion = 0;
+    List<PedidoValido> validos = new ArrayList<>(filas.size());
+    List<ResultadoCargaResponse.ErrorDetalle> errores = new ArrayList<>();
+
+    // Primera pasada: campos decodificados de cada fila y referencias distintas
+    // del lote
+    FilaPedido[] decodificadas = new FilaPedido[filas.size()];
+    Set<String> clienteIds = new HashSet<>();
+    Set<String> zonaIds = new HashSet<>();
+    Set<String> numerosPedido = new HashSet<>();
+    for (int i = 0; i < decodificadas.length; i++) {
+      FilaCsv fila = filas.get(i);
+      if (fila.numeroCampos() >= 6) {
         PedidoCsvDTO dto = new PedidoCsvDTO(
-            campos[0].trim(),
-            campos[1].trim(),
-            campos[2].trim(),
-            campos[3].trim(),
-            campos[4].trim(),
-            campos[5].trim());
-
-        // Establecer contexto del pedido actual
-        LogContext.setPedido(dto.getNumeroPedido());
-
-        List<String> erroresValidacion = validar(dto);
-        if (erroresValidacion.isEmpty()) {
-          Pedido pedido = convertirADominio(dto);
-          pedidosValidos.add(pedido);
-          logDebug(LogEvents.PEDIDO_PROCESADO,
-              "Pedido válido agregado para guardado: {}", dto.getNumeroPedido());
-        } else {
+            fila.campo(0),
+            fila.campo(1),
+            fila.campo(2),
+            fila.campo(3),
+            fila.campo(4),
+            fila.campo(5));
+        decodificadas[i] = FilaPedido.decodificar(dto);
+        agregarSiNoVacio(clienteIds, dto.getClienteId());
+        agregarSiNoVacio(zonaIds, dto.getZonaEntrega());
+        agregarSiNoVacio(numerosPedido, dto.getNumeroPedido());
+      }
+    }
+
+    long inicioReferencias = System.nanoTime();
+    int commitsVistos = contexto.numeros().iniciarLote();
+    ReferenciasLote referencias = resolutorReferencias.resolver(clienteIds, zonaIds, numerosPedido);
+    long nanosReferencias = System.nanoTime() - inicioReferencias;
+
+    for (int i = 0; i < decodificadas.length; i++) {
+      FilaCsv fila = filas.get(i);
+      FilaPedido decodificada = decodificadas[i];
+      int linea = fila.linea();
+
+      // Validar que la fila tenga todos los campos
+      if (decodificada == null) {
+        estadisticas.registrar(EstadisticasCarga.FILA_INCOMPLETA);
+        errores.add(new ResultadoCargaResponse.ErrorDetalle(
+            linea,
+            fila.numeroCampos() > 0 ? fila.campo(0) : "N/A",
+            "Faltan campos en la fila",
+            "FILA_INCOMPLETA"));
+        continue;
+      }
+      PedidoCsvDTO dto = decodificada.csv();
+
+      // Establecer contexto del pedido actual
+      LogContext.setPedido(dto.getNumeroPedido());
+
+      ValidacionPedido validacion = validar(decodificada, referencias, contexto.hoy(), medicion);
+      long nanosFila = medicion.nanosUltimaFila();
+      if (nanosFila >= contexto.umbralFilaLenta()) {
+        EventosCarga.registrarFilaLenta(contexto.archivo(), linea, dto.getNumeroPedido(), nanosFila);
+      }
+      if (validacion.esValida()) {
+        long inicioConversion = System.nanoTime();
+        Pedido pedido = convertirADominio(validacion);
+        nanosConversion += System.nanoTime() - inicioConversion;
+        validos.add(new PedidoValido(linea, pedido));
+        logDebug(LogEvents.PEDIDO_PROCESADO,
+            "Pedido válido agregado para guardado: {}", dto.getNumeroPedido());
+      } else {
+        estadisticas.registrar(validacion);
+        if (estadisticas.muestrear(LogEvents.PEDIDO_INVALIDO)) {
           logWarn(LogEvents.PEDIDO_INVALIDO,
-              "Pedido con {} errores de validación", erroresValidacion.size());
-          for (String error : erroresValidacion) {
-            errores.add(new ResultadoCargaResponse.ErrorDetalle(
-                i + 1,
-                dto.getNumeroPedido(),
-                error,
-                "VALIDACION"));
-          }
+              "Pedido rechazado en la línea {} con {} errores de validación: {}",
+              linea, validacion.numeroErrores(), validacion.errores());
+        }
+        for (ErrorValidacion error : validacion.errores()) {
+          errores.add(new ResultadoCargaResponse.ErrorDetalle(
+              linea,
+              dto.getNumeroPedido(),
+              error.mensaje(),
+              "VALIDACION"));
         }
       }
+    }
 
-      // Guardar todos los pedidos válidos
-      if (!pedidosValidos.isEmpty()) {
-        LogContext.setOperacion("PERSISTENCIA");
-        logInfo(LogEvents.PEDIDO_GUARDADO,
-            "Guardando {} pedidos válidos en base de datos", pedidosValidos.size());
-        pedidoRepository.saveAll(pedidosValidos);
-        guardados = pedidosValidos.size();
-        logInfo(LogEvents.PEDIDO_GUARDADO,
-            "Guardados exitosamente {} pedidos", guardados);
+    estadisticas.medir(EstadisticasCarga.Etapa.REFERENCIAS, nanosReferencias);
+    estadisticas.medir(EstadisticasCarga.Etapa.CONVERSION, nanosConversion);
+    estadisticas.medir(EstadisticasCarga.Etapa.VALIDACION,
+        System.nanoTime() - inicio - nanosReferencias - nanosConversion);
+    metricasCarga.registrar(medicion);
+    metricasCarga.contarFilas(MetricasCarga.FILA_RECHAZADA, filas.size() - validos.size());
+    eventoValidacion.end();
+    if (eventoValidacion.shouldCommit() && !filas.isEmpty()) {
+      eventoValidacion.archivo = contexto.archivo();
+      eventoValidacion.lineaInicial = filas.get(0).linea();
+      eventoValidacion.lineaFinal = filas.get(filas.size() - 1).linea();
+      eventoValidacion.filas = filas.size();
+      eventoValidacion.rechazadas = filas.size() - validos.size();
+      eventoValidacion.commit();
+    }
+    contexto.progreso().sumarValidadas(filas.size());
+    return new ResultadoLote(filas.size(), validos, errores, commitsVistos);
+  }
+
+  /**
+   * Incorpora el resultado de un lote a la carga y confirma los bloques de
+   * pedidos válidos que se completen. Los lotes se consumen en el orden del
+   * archivo, así que aquí se descartan los números de pedido repetidos dentro
+   * del propio archivo: se conserva la primera aparición válida y las
+   * siguientes se reportan como error en su línea. Las que repiten un pedido
+   * ya confirmado antes de validar su lote las rechaza la validación como
+   * existentes en base de datos; ver {@link NumerosEnCurso}.
+   */
+  private void consumirLote(ResultadoLote lote, ConteoCarga conteo) {
+    conteo.total += lote.total();
+
+    List<ResultadoCargaResponse.ErrorDetalle> duplicados = new ArrayList<>();
+    for (PedidoValido valido : lote.validos()) {
+      String numeroPedido = valido.pedido().getNumeroPedido();
+      if (conteo.contexto.numeros().aceptar(numeroPedido)) {
+        conteo.pendientes.add(valido);
+      } else {
+        conteo.contexto.estadisticas().registrar(EstadisticasCarga.DUPLICADO_EN_ARCHIVO);
+        if (conteo.contexto.estadisticas().muestrear(LogEvents.PEDIDO_INVALIDO)) {
+          logWarn(LogEvents.PEDIDO_INVALIDO,
+              "Número de pedido duplicado en el archivo: {} (línea {})", numeroPedido, valido.linea());
+        }
+        duplicados.add(new ResultadoCargaResponse.ErrorDetalle(
+            valido.linea(),
+            numeroPedido,
+            "Número de pedido duplicado en el archivo",
+            "VALIDACION"));
       }
+    }
 
-    } catch (CsvValidationException e) {
-      // Re-lanzar excepciones de CSV para manejo en el controlador
-      throw e;
-    } catch (Exception e) {
-      logError(LogEvents.ERROR_LECTURA_CSV,
-          "Error general al procesar archivo CSV", e);
-      errores.add(new ResultadoCargaResponse.ErrorDetalle(0, "", e.getMessage(), "ERROR_SISTEMA"));
+    agregarEnOrden(lote.errores(), duplicados, conteo.errores);
+    metricasCarga.contarFilas(MetricasCarga.FILA_RECHAZADA, duplicados.size());
+    conteo.progreso.sumarErrores(lote.errores().size() + duplicados.size());
+    conteo.contexto.numeros().terminarLote(lote.commitsVistos());
+
+    int tamanoCommit = Math.max(1, cargaProperties.getTamanoCommit());
+    while (conteo.pendientes.size() >= tamanoCommit) {
+      confirmar(conteo, tamanoCommit);
+    }
+  }
+
+  /**
+   * Persiste en una transacción propia los primeros {@code cantidad} pedidos
+   * pendientes. Si falla, solo ese bloque se revierte: se reporta como error
+   * y la carga continúa con el siguiente. Cada bloque confirmado se publica
+   * como {@link PedidosConfirmados} una vez registrado como confirmado: los
+   * listeners se ejecutan en este hilo y un fallo suyo no convierte en
+   * revertido un bloque que ya está en la base de datos.
+   */
+  private void confirmar(ConteoCarga conteo, int cantidad) {
+    if (cantidad == 0) {
+      return;
+    }
+
+    List<PedidoValido> bloque = conteo.pendientes.subList(0, cantidad);
+    List<Pedido> pedidos = new ArrayList<>(cantidad);
+    for (PedidoValido valido : bloque) {
+      pedidos.add(valido.pedido());
+    }
+    int numero = conteo.commits.size() + 1;
+    int lineaInicial = bloque.get(0).linea();
+    int lineaFinal = bloque.get(cantidad - 1).linea();
+
+    String estado = ResultadoCargaResponse.CommitLote.REVERTIDO;
+    EventosCarga.Persistencia eventoPersistencia = new EventosCarga.Persistencia();
+    eventoPersistencia.begin();
+    long inicio = System.nanoTime();
+    LogContext.setLineas(lineaInicial, lineaFinal);
+    try {
+      int guardados = guardarLote(pedidos);
+      conteo.guardados += guardados;
+      conteo.progreso.sumarGuardadas(guardados);
+      metricasCarga.contarFilas(MetricasCarga.FILA_GUARDADA, guardados);
+      estado = ResultadoCargaResponse.CommitLote.CONFIRMADO;
+    } catch (RuntimeException e) {
+      logError(LogEvents.ERROR_BASE_DATOS,
+          "Commit {} revertido (líneas {}-{})", numero, lineaInicial, lineaFinal, e);
+      conteo.contexto.estadisticas().registrar(EstadisticasCarga.ERROR_PERSISTENCIA);
+      metricasCarga.contarFilas(MetricasCarga.FILA_REVERTIDA, cantidad);
+      conteo.errores.agregar(new ResultadoCargaResponse.ErrorDetalle(
+          lineaInicial,
+          "",
+          "Commit " + numero + " revertido (líneas " + lineaInicial + "-" + lineaFinal + "): " + e.getMessage(),
+          "ERROR_PERSISTENCIA"));
+      conteo.progreso.sumarErrores(1);
     } finally {
-      LogContext.clear();
+      boolean confirmado = ResultadoCargaResponse.CommitLote.CONFIRMADO.equals(estado);
+      conteo.contexto.estadisticas().medir(EstadisticasCarga.Etapa.PERSISTENCIA, System.nanoTime() - inicio,
+          confirmado);
+      eventoPersistencia.end();
+      if (eventoPersistencia.shouldCommit()) {
+        eventoPersistencia.archivo = conteo.contexto.archivo();
+        eventoPersistencia.commit = numero;
+        eventoPersistencia.lineaInicial = lineaInicial;
+        eventoPersistencia.lineaFinal = lineaFinal;
+        eventoPersistencia.pedidos = cantidad;
+        eventoPersistencia.confirmado = confirmado;
+        eventoPersistencia.commit();
+      }
     }
 
-    // Log de resumen final
-    logInfo(LogEvents.RESUMEN_PROCESAMIENTO,
-        "Procesamiento completado - Total: {}, Guardados: {}, Errores: {}",
-        total, guardados, errores.size());
+    conteo.commits.add(new ResultadoCargaResponse.CommitLote(numero, lineaInicial, lineaFinal, cantidad, estado));
+    conteo.contexto.numeros().cerrarBloque(numerosPedido(pedidos),
+        ResultadoCargaResponse.CommitLote.CONFIRMADO.equals(estado));
+    // Libera los pedidos ya procesados
+    bloque.clear();
 
-    long tiempoProcesamiento = System.currentTimeMillis() - inicioTiempo;
-    String requestId = UUID.randomUUID().toString();
+    if (ResultadoCargaResponse.CommitLote.CONFIRMADO.equals(estado)) {
+      publicarConfirmados(pedidos, numero);
+    }
+  }
 
-    return new ResultadoCargaResponse(total, guardados, errores, requestId, tiempoProcesamiento);
+  private static List<String> numerosPedido(List<Pedido> pedidos) {
+    List<String> numeros = new ArrayList<>(pedidos.size());
+    for (Pedido pedido : pedidos) {
+      numeros.add(pedido.getNumeroPedido());
+    }
+    return numeros;
   }
 
-  private List<String> validar(PedidoCsvDTO dto) {
-    List<String> errores = new ArrayList<>();
+  /**
+   * Publica un bloque ya confirmado. Los cachés y agregados que lo escuchan
+   * son derivados: si uno falla se registra y la carga sigue, porque el
+   * bloque ya está guardado.
+   */
+  private void publicarConfirmados(List<Pedido> pedidos, int numero) {
+    try {
+      eventPublisher.publishEvent(PedidosConfirmados.de(pedidos));
+    } catch (RuntimeException e) {
+      logWarn(LogEvents.ERROR_SISTEMA,
+          "Commit {} confirmado pero falló la notificación de sus pedidos", numero, e);
+    }
+  }
 
-    logDebug(LogEvents.INICIO_VALIDACION,
-        "Iniciando validación completa de pedido: {}", dto.getNumeroPedido());
+  /**
+   * Persiste el lote de pedidos válidos.
+   *
+   * @return Cantidad de pedidos guardados
+   */
+  private int guardarLote(List<Pedido> lote) {
+    if (lote.isEmpty()) {
+      return 0;
+    }
+
+    try (LogContext.Ambito ambito = LogContext.abrir()) {
+      LogContext.setOperacion("PERSISTENCIA");
+      logInfo(LogEvents.PEDIDO_GUARDADO,
+          "Guardando lote de {} pedidos válidos en base de datos", lote.size());
+      int guardados = insercionMasivaPedidos.insertar(lote);
+      logInfo(LogEvents.PEDIDO_GUARDADO,
+          "Guardados exitosamente {} pedidos", guardados);
+      return guardados;
+    }
+  }
+
+  /**
+   * Mezcla dos listas de errores ya ordenadas por línea, de modo que el
+   * detalle de la respuesta siga el orden del archivo.
+   */
+  private static void agregarEnOrden(List<ResultadoCargaResponse.ErrorDetalle> a,
+      List<ResultadoCargaResponse.ErrorDetalle> b, ErroresCarga destino) {
+    int i = 0;
+    int j = 0;
+    while (i < a.size() || j < b.size()) {
+      if (j == b.size() || (i < a.size() && a.get(i).linea() <= b.get(j).linea())) {
+        destino.agregar(a.get(i++));
+      } else {
+        destino.agregar(b.get(j++));
+      }
+    }
+  }
 
-    // Validaciones usando los validadores específicos
-    errores.addAll(pedidoValidator.validarNumeroPedido(dto));
-    errores.addAll(clienteValidator.validarCliente(dto));
-    errores.addAll(fechaValidator.validarFecha(dto));
-    errores.addAll(estadoValidator.validarEstado(dto));
-    errores.addAll(zonaValidator.validarZona(dto));
+  /**
+   * Resultado de validar un lote de filas.
+   *
+   * @param commitsVistos Bloques confirmados al consultar los pedidos
+   *                      existentes del lote
+   */
+  private record ResultadoLote(int total, List<PedidoValido> validos, List<ResultadoCargaResponse.ErrorDetalle> errores,
+      int commitsVistos) {
+  }
+
+  /**
+   * Pedido válido junto con la línea del archivo de la que proviene.
+   */
+  private record PedidoValido(int linea, Pedido pedido) {
+  }
+
+  /**
+   * Lo que comparten los hilos que validan lotes de una misma carga.
+   *
+   * @param archivo         Nombre del archivo, para los eventos JFR
+   * @param progreso        Contadores de avance de la carga
+   * @param hoy             Día epoch de la carga: todas las filas se validan
+   *                        contra la misma fecha
+   * @param umbralFilaLenta Nanosegundos de validación a partir de los que una
+   *                        fila se registra como evento JFR
+   * @param estadisticas    Estadísticas y muestreo de logs de la carga
+   * @param numeros         Números de pedido para detectar repetidos en el
+   *                        archivo
+   */
+  private record ContextoLote(String archivo, ProgresoCarga progreso, long hoy, long umbralFilaLenta,
+      EstadisticasCarga estadisticas, NumerosEnCurso numeros) {
+  }
+
+  /**
+   * Totales acumulados de una carga.
+   */
+  private static final class ConteoCarga {
+    private final ErroresCarga errores;
+    private final ProgresoCarga progreso;
+    private final ContextoLote contexto;
+    // Pedidos válidos aún sin confirmar y bloques confirmados o revertidos
+    private final List<PedidoValido> pendientes = new ArrayList<>();
+    private final List<ResultadoCargaResponse.CommitLote> commits = new ArrayList<>();
+    private int total;
+    private int guardados;
+
+    private ConteoCarga(ErroresCarga errores, ContextoLote contexto) {
+      this.errores = errores;
+      this.progreso = contexto.progreso();
+      this.contexto = contexto;
+    }
+  }
 
-    if (errores.isEmpty()) {
+  private static void agregarSiNoVacio(Set<String> ids, String id) {
+    if (!id.isEmpty()) {
+      ids.add(id);
+    }
+  }
+
+  private ValidacionPedido validar(FilaPedido fila, ReferenciasLote referencias, long hoy,
+      MetricasCarga.MedicionLote medicion) {
+    ValidacionPedido validacion = new ValidacionPedido(fila);
+
+    logDebug(LogEvents.INICIO_VALIDACION,
+        "Iniciando validación completa de pedido: {}", validacion.numeroPedido());
+
+    // Una sola pasada: cada validador marca sus errores y deja resuelto lo
+    // que la conversión necesita
+    long inicio = medicion.iniciarFila();
+    pedidoValidator.validarNumeroPedido(validacion, referencias);
+    inicio = medicion.registrar(MetricasCarga.Validador.PEDIDO, inicio, validacion);
+    clienteValidator.validarCliente(validacion, referencias);
+    inicio = medicion.registrar(MetricasCarga.Validador.CLIENTE, inicio, validacion);
+    fechaValidator.validarFecha(validacion, hoy);
+    inicio = medicion.registrar(MetricasCarga.Validador.FECHA, inicio, validacion);
+    estadoValidator.validarEstado(validacion);
+    inicio = medicion.registrar(MetricasCarga.Validador.ESTADO, inicio, validacion);
+    zonaValidator.validarZona(validacion, referencias);
+    medicion.registrar(MetricasCarga.Validador.ZONA, inicio, validacion);
+
+    if (validacion.esValida()) {
       logDebug(LogEvents.PEDIDO_VALIDO,
           "Todas las validaciones pasaron exitosamente");
-    } else {
-      logInfo(LogEvents.ESTADISTICAS_VALIDACION,
-          "Validación completada con {} errores: {}", errores.size(), errores);
     }
 
-    return errores;
+    return validacion;
   }
 
-  private Pedido convertirADominio(PedidoCsvDTO dto) {
-    LogContext.setOperacion("CONVERSION");
+  private Pedido convertirADominio(ValidacionPedido validacion) {
+    // Se llama por fila desde la validación: la operación del lote se restaura
+    try (LogContext.Ambito ambito = LogContext.abrir()) {
+      LogContext.setOperacion("CONVERSION");
 
-    logDebug(LogEvents.PEDIDO_PROCESADO,
-        "Convirtiendo DTO a entidad de dominio: {}", dto.getNumeroPedido());
+      logDebug(LogEvents.PEDIDO_PROCESADO,
+          "Convirtiendo DTO a entidad de dominio: {}", validacion.numeroPedido());
 
-    try {
-      Pedido pedido = Pedido.builder()
-          .numeroPedido(dto.getNumeroPedido())
-          .cliente(clienteRepository.buscarCliente(dto.getClienteId()).get())
-          .fechaEntrega(LocalDate.parse(dto.getFechaEntrega()))
-          .estado(EstadoPedido.valueOf(dto.getEstado()))
-          .zonaEntrega(zonaRepository.buscarZona(dto.getZonaEntrega()).get())
-          .requiereRefrigeracion(Boolean.parseBoolean(dto.getRequiereRefrigeracion()))
-          .build();
+      Pedido pedido = validacion.aPedido();
 
       logDebug(LogEvents.PEDIDO_PROCESADO,
           "Conversión exitosa - Pedido: {}, Cliente: {}, Fecha: {}, Estado: {}, Zona: {}, Refrigeración: {}",
@@ -205,11 +860,6 @@ public class CargarPedidosUseCase extends BaseLogger {
           pedido.isRequiereRefrigeracion());
 
       return pedido;
-
-    } catch (Exception e) {
-      logError(LogEvents.ERROR_SISTEMA,
-          "Error al convertir DTO a entidad de dominio", e);
-      throw e;
     }
   }
 }
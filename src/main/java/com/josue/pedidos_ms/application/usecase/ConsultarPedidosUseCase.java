@@ -0,0 +1,117 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.infrastructure.repository.PedidoRepository;
+import com.josue.pedidos_ms.shared.dto.PaginaPedidosResponse;
+import com.josue.pedidos_ms.shared.dto.PedidoResumen;
+import com.josue.pedidos_ms.shared.error.ConsultaInvalidaException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Caso de uso para consultar pedidos por páginas.
+ *
+ * Las páginas se recorren por clave sobre {@code (fecha_entrega,
+ * numero_pedido)}: el cursor identifica el último pedido devuelto y la
+ * siguiente consulta arranca justo después, de modo que el coste de cada
+ * página no crece con su posición y los pedidos insertados entre páginas no
+ * provocan saltos ni repetidos.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ConsultarPedidosUseCase {
+
+  static final int TAMANO_POR_DEFECTO = 100;
+  static final int TAMANO_MAXIMO = 1000;
+
+  // Posición anterior a cualquier pedido: primera página
+  private static final Cursor INICIO = new Cursor(LocalDate.of(1, 1, 1), "");
+
+  private final PedidoRepository pedidoRepository;
+
+  public PaginaPedidosResponse porEstado(EstadoPedido estado, String cursor, Integer tamano) {
+    Cursor desde = decodificar(cursor);
+    int limite = limitar(tamano);
+    return pagina(pedidoRepository.paginarPorEstado(
+        estado, desde.fechaEntrega(), desde.numeroPedido(), Limit.of(limite + 1)), limite);
+  }
+
+  public PaginaPedidosResponse porRangoFechas(LocalDate fechaInicio, LocalDate fechaFin, String cursor,
+      Integer tamano) {
+    if (fechaFin.isBefore(fechaInicio)) {
+      throw new ConsultaInvalidaException("La fecha final es anterior a la inicial");
+    }
+    Cursor desde = decodificar(cursor);
+    int limite = limitar(tamano);
+    return pagina(pedidoRepository.paginarPorRangoFechas(
+        fechaInicio, fechaFin, desde.fechaEntrega(), desde.numeroPedido(), Limit.of(limite + 1)), limite);
+  }
+
+  public PaginaPedidosResponse porCliente(String clienteId, String cursor, Integer tamano) {
+    Cursor desde = decodificar(cursor);
+    int limite = limitar(tamano);
+    return pagina(pedidoRepository.paginarPorCliente(
+        clienteId, desde.fechaEntrega(), desde.numeroPedido(), Limit.of(limite + 1)), limite);
+  }
+
+  /**
+   * Se consulta un pedido más del tamaño pedido solo para saber si hay
+   * página siguiente.
+   */
+  private static PaginaPedidosResponse pagina(List<PedidoResumen> pedidos, int limite) {
+    if (pedidos.size() <= limite) {
+      return new PaginaPedidosResponse(pedidos, null);
+    }
+    List<PedidoResumen> pagina = pedidos.subList(0, limite);
+    PedidoResumen ultimo = pagina.get(limite - 1);
+    return new PaginaPedidosResponse(List.copyOf(pagina),
+        new Cursor(ultimo.fechaEntrega(), ultimo.numeroPedido()).codificar());
+  }
+
+  private static int limitar(Integer tamano) {
+    if (tamano == null) {
+      return TAMANO_POR_DEFECTO;
+    }
+    if (tamano < 1 || tamano > TAMANO_MAXIMO) {
+      throw new ConsultaInvalidaException("El tamaño de página debe estar entre 1 y " + TAMANO_MAXIMO);
+    }
+    return tamano;
+  }
+
+  private static Cursor decodificar(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return INICIO;
+    }
+    try {
+      String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separador = valor.indexOf('|');
+      if (separador < 0) {
+        throw new ConsultaInvalidaException("Cursor de paginación inválido");
+      }
+      return new Cursor(LocalDate.parse(valor.substring(0, separador)), valor.substring(separador + 1));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new ConsultaInvalidaException("Cursor de paginación inválido", e);
+    }
+  }
+
+  /**
+   * Último pedido de una página. Se envía codificado en Base64 URL para que
+   * el cliente lo trate como un valor opaco.
+   */
+  private record Cursor(LocalDate fechaEntrega, String numeroPedido) {
+
+    String codificar() {
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString((fechaEntrega + "|" + numeroPedido).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.shared.dto.ResultadoCargaResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumulador de errores de una carga con memoria acotada.
+ * Conserva como máximo {@code maxDetalles} errores detallados; el resto solo
+ * se contabiliza y se informa como un único detalle de resumen.
+ */
+public class ErroresCarga {
+
+  private final int maxDetalles;
+  private final List<ResultadoCargaResponse.ErrorDetalle> detalles = new ArrayList<>();
+  private int total;
+
+  public ErroresCarga(int maxDetalles) {
+    this.maxDetalles = Math.max(0, maxDetalles);
+  }
+
+  /**
+   * Registra un error. Si se alcanzó el máximo de detalles solo se contabiliza.
+   */
+  public void agregar(ResultadoCargaResponse.ErrorDetalle error) {
+    total++;
+    if (detalles.size() < maxDetalles) {
+      detalles.add(error);
+    }
+  }
+
+  /**
+   * Cantidad total de errores registrados, incluidos los omitidos.
+   */
+  public int total() {
+    return total;
+  }
+
+  /**
+   * Errores detallados para la respuesta, con un detalle final de resumen si
+   * hubo errores omitidos por el límite configurado.
+   */
+  public List<ResultadoCargaResponse.ErrorDetalle> detalles() {
+    int omitidos = total - detalles.size();
+    if (omitidos == 0) {
+      return detalles;
+    }
+    List<ResultadoCargaResponse.ErrorDetalle> resultado = new ArrayList<>(detalles);
+    resultado.add(new ResultadoCargaResponse.ErrorDetalle(
+        0,
+        "",
+        omitidos + " errores adicionales omitidos",
+        "ERRORES_OMITIDOS"));
+    return resultado;
+  }
+}
@@ -0,0 +1,151 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.domain.service.ErrorValidacion;
+import com.josue.pedidos_ms.domain.service.ValidacionPedido;
+import com.josue.pedidos_ms.shared.logging.MuestreoLog;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estadísticas de una carga que sustituyen al log fila a fila: histograma de
+ * errores, rechazos por validador y tiempo acumulado por etapa. Se informan
+ * en un único evento {@code RESUMEN_PROCESAMIENTO} al terminar la carga.
+ *
+ * Es seguro para uso concurrente: en los modos paralelo y pipeline varios
+ * hilos validan lotes de la misma carga.
+ */
+public final class EstadisticasCarga {
+
+  /**
+   * Etapas cuyo tiempo se acumula. En los modos concurrentes es la suma del
+   * tiempo de todos los hilos, no el tiempo transcurrido.
+   */
+  public enum Etapa {
+    LECTURA,
+    REFERENCIAS,
+    VALIDACION,
+    CONVERSION,
+    PERSISTENCIA
+  }
+
+  /**
+   * Errores que no provienen de un validador.
+   */
+  public static final String FILA_INCOMPLETA = "FILA_INCOMPLETA";
+  public static final String DUPLICADO_EN_ARCHIVO = "DUPLICADO_EN_ARCHIVO";
+  public static final String ERROR_PERSISTENCIA = "ERROR_PERSISTENCIA";
+
+  private static final ErrorValidacion[] ERRORES = ErrorValidacion.values();
+  private static final Etapa[] ETAPAS = Etapa.values();
+
+  private final MuestreoLog muestreo;
+  private final MetricasCarga metricas;
+  private final AtomicLongArray porError = new AtomicLongArray(ERRORES.length);
+  private final Map<String, LongAdder> otrosErrores = new ConcurrentHashMap<>();
+  private final AtomicLongArray nanosPorEtapa = new AtomicLongArray(ETAPAS.length);
+
+  /**
+   * @param muestreo Muestreo de los logs por fila de la carga
+   * @param metricas Métricas globales a las que se trasladan los tiempos
+   */
+  public EstadisticasCarga(MuestreoLog muestreo, MetricasCarga metricas) {
+    this.muestreo = muestreo;
+    this.metricas = metricas;
+  }
+
+  /**
+   * Cuenta los errores de una fila rechazada por los validadores.
+   */
+  public void registrar(ValidacionPedido validacion) {
+    for (ErrorValidacion error : ERRORES) {
+      if (validacion.tiene(error)) {
+        porError.incrementAndGet(error.ordinal());
+      }
+    }
+  }
+
+  /**
+   * Cuenta un error que no proviene de un validador.
+   */
+  public void registrar(String tipo) {
+    otrosErrores.computeIfAbsent(tipo, t -> new LongAdder()).increment();
+  }
+
+  public void medir(Etapa etapa, long nanos) {
+    medir(etapa, nanos, true);
+  }
+
+  /**
+   * @param exito false si la etapa terminó en error (un bloque revertido)
+   */
+  public void medir(Etapa etapa, long nanos, boolean exito) {
+    nanosPorEtapa.addAndGet(etapa.ordinal(), nanos);
+    metricas.medir(etapa, nanos, exito);
+  }
+
+  /**
+   * @return true si esta ocurrencia del evento por fila debe registrarse
+   */
+  public boolean muestrear(String evento) {
+    return muestreo.debeRegistrar(evento);
+  }
+
+  /**
+   * @return Errores por código, solo los que aparecieron
+   */
+  public Map<String, Long> histogramaErrores() {
+    Map<String, Long> histograma = new LinkedHashMap<>();
+    for (ErrorValidacion error : ERRORES) {
+      long cantidad = porError.get(error.ordinal());
+      if (cantidad > 0) {
+        histograma.put(error.name(), cantidad);
+      }
+    }
+    otrosErrores.forEach((tipo, cantidad) -> histograma.put(tipo, cantidad.sum()));
+    return histograma;
+  }
+
+  /**
+   * @return Filas rechazadas por cada validador, solo los que rechazaron alguna
+   */
+  public Map<String, Long> rechazosPorValidador() {
+    Map<String, Long> rechazos = new LinkedHashMap<>();
+    for (ErrorValidacion error : ERRORES) {
+      long cantidad = porError.get(error.ordinal());
+      if (cantidad > 0) {
+        rechazos.merge(error.validador(), cantidad, Long::sum);
+      }
+    }
+    return rechazos;
+  }
+
+  /**
+   * @return Milisegundos acumulados por etapa
+   */
+  public Map<Etapa, Long> milisPorEtapa() {
+    Map<Etapa, Long> tiempos = new LinkedHashMap<>();
+    for (Etapa etapa : ETAPAS) {
+      tiempos.put(etapa, TimeUnit.NANOSECONDS.toMillis(nanosPorEtapa.get(etapa.ordinal())));
+    }
+    return tiempos;
+  }
+
+  public long logsOmitidos() {
+    return muestreo.omitidos();
+  }
+
+  /**
+   * @return Texto para el evento de resumen de la carga
+   */
+  public String resumen() {
+    return "errores por tipo: " + histogramaErrores()
+        + ", rechazos por validador: " + rechazosPorValidador()
+        + ", ms por etapa: " + milisPorEtapa()
+        + ", logs por fila omitidos: " + logsOmitidos();
+  }
+}
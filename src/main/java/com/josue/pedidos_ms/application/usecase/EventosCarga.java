@@ -0,0 +1,185 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.infrastructure.csv.FilaCsv;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.List;
+
+/**
+ * Eventos de Java Flight Recorder del ciclo de vida de una carga. Con JFR
+ * desactivado, o con el evento deshabilitado en la configuración de la
+ * grabación, crearlos y llamar a {@code begin()} no tiene coste apreciable: los
+ * campos solo se rellenan si el evento se va a registrar.
+ *
+ * Todos se publican bajo la categoría "Pedidos / Carga"; por ejemplo,
+ * {@code jfr print --categories Pedidos grabacion.jfr}.
+ */
+public final class EventosCarga {
+
+  private EventosCarga() {
+  }
+
+  @Name("pedidos.carga.Inicio")
+  @Label("Inicio de carga")
+  @Description("Se recibe un archivo CSV de pedidos")
+  @Category({ "Pedidos", "Carga" })
+  @StackTrace(false)
+  public static final class Inicio extends Event {
+    @Label("Archivo")
+    String archivo;
+
+    @Label("Tamaño")
+    @DataAmount
+    long bytes;
+
+    @Label("Modo")
+    String modo;
+  }
+
+  @Name("pedidos.carga.Fin")
+  @Label("Carga")
+  @Description("Carga completa de un archivo, desde su recepción hasta el último commit")
+  @Category({ "Pedidos", "Carga" })
+  @StackTrace(false)
+  public static final class Fin extends Event {
+    @Label("Archivo")
+    String archivo;
+
+    @Label("Tamaño")
+    @DataAmount
+    long bytes;
+
+    @Label("Filas")
+    long filas;
+
+    @Label("Guardados")
+    long guardados;
+
+    @Label("Errores")
+    long errores;
+
+    @Label("Resultado")
+    String resultado;
+  }
+
+  @Name("pedidos.carga.Lectura")
+  @Label("Lectura de lote")
+  @Description("Lectura y tokenización de un lote de filas del CSV")
+  @Category({ "Pedidos", "Carga" })
+  @StackTrace(false)
+  public static final class Lectura extends Event {
+    @Label("Archivo")
+    String archivo;
+
+    @Label("Línea inicial")
+    int lineaInicial;
+
+    @Label("Línea final")
+    int lineaFinal;
+
+    @Label("Filas")
+    int filas;
+  }
+
+  @Name("pedidos.carga.Validacion")
+  @Label("Validación de lote")
+  @Description("Resolución de referencias, validación y conversión de un lote")
+  @Category({ "Pedidos", "Carga" })
+  @StackTrace(false)
+  public static final class Validacion extends Event {
+    @Label("Archivo")
+    String archivo;
+
+    @Label("Línea inicial")
+    int lineaInicial;
+
+    @Label("Línea final")
+    int lineaFinal;
+
+    @Label("Filas")
+    int filas;
+
+    @Label("Rechazadas")
+    int rechazadas;
+  }
+
+  @Name("pedidos.carga.Persistencia")
+  @Label("Persistencia de bloque")
+  @Description("Transacción que guarda un bloque de pedidos válidos")
+  @Category({ "Pedidos", "Carga" })
+  @StackTrace(false)
+  public static final class Persistencia extends Event {
+    @Label("Archivo")
+    String archivo;
+
+    @Label("Commit")
+    int commit;
+
+    @Label("Línea inicial")
+    int lineaInicial;
+
+    @Label("Línea final")
+    int lineaFinal;
+
+    @Label("Pedidos")
+    int pedidos;
+
+    @Label("Confirmado")
+    boolean confirmado;
+  }
+
+  @Name("pedidos.carga.FilaLenta")
+  @Label("Fila lenta")
+  @Description("Fila cuya validación superó pedidos.carga.umbral-fila-lenta")
+  @Category({ "Pedidos", "Carga" })
+  @StackTrace(false)
+  public static final class FilaLenta extends Event {
+    @Label("Archivo")
+    String archivo;
+
+    @Label("Línea")
+    int linea;
+
+    @Label("Número de pedido")
+    String numeroPedido;
+
+    @Label("Duración de la validación")
+    @Timespan
+    long duracion;
+  }
+
+  static Lectura iniciarLectura() {
+    Lectura evento = new Lectura();
+    evento.begin();
+    return evento;
+  }
+
+  static void registrarLectura(Lectura evento, String archivo, List<FilaCsv> filas) {
+    evento.end();
+    if (evento.shouldCommit() && !filas.isEmpty()) {
+      evento.archivo = archivo;
+      evento.lineaInicial = filas.get(0).linea();
+      evento.lineaFinal = filas.get(filas.size() - 1).linea();
+      evento.filas = filas.size();
+      evento.commit();
+    }
+  }
+
+  static void registrarFilaLenta(String archivo, int linea, String numeroPedido, long nanos) {
+    FilaLenta evento = new FilaLenta();
+    if (evento.isEnabled()) {
+      evento.archivo = archivo;
+      evento.linea = linea;
+      evento.numeroPedido = numeroPedido;
+      evento.duracion = nanos;
+      evento.commit();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.infrastructure.repository.PedidoRepository;
+import com.josue.pedidos_ms.shared.dto.PedidoResumen;
+import com.josue.pedidos_ms.shared.error.ConsultaInvalidaException;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caso de uso para exportar pedidos a CSV con el mismo formato que acepta la
+ * carga.
+ *
+ * Las filas se leen con un cursor de solo avance ({@link PedidoRepository}
+ * trae {@code TAMANO_FETCH} filas por viaje) y se escriben directamente en la
+ * salida, de modo que la memoria no depende del número de pedidos y la
+ * cabecera se envía antes de terminar la consulta.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportarPedidosUseCase extends BaseLogger {
+
+  static final String CABECERA =
+      "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n";
+  private static final int TAMANO_BUFFER = 64 * 1024;
+
+  private final PedidoRepository pedidoRepository;
+
+  /**
+   * Filtros de una exportación; los null no filtran.
+   */
+  public record FiltroExportacion(EstadoPedido estado, LocalDate fechaInicio, LocalDate fechaFin) {
+  }
+
+  /**
+   * Comprueba los filtros antes de empezar a responder, cuando aún se puede
+   * devolver un error HTTP.
+   */
+  public FiltroExportacion preparar(EstadoPedido estado, LocalDate fechaInicio, LocalDate fechaFin) {
+    if ((fechaInicio == null) != (fechaFin == null)) {
+      throw new ConsultaInvalidaException("El rango de fechas requiere 'desde' y 'hasta'");
+    }
+    if (fechaInicio != null && fechaFin.isBefore(fechaInicio)) {
+      throw new ConsultaInvalidaException("La fecha final es anterior a la inicial");
+    }
+    return new FiltroExportacion(estado, fechaInicio, fechaFin);
+  }
+
+  /**
+   * Escribe en {@code salida} los pedidos del filtro, ordenados por fecha de
+   * entrega y número, comprimidos con gzip si se indica. El cursor y la
+   * transacción se mantienen abiertos mientras dura la escritura.
+   *
+   * @return Pedidos exportados
+   */
+  @Transactional(readOnly = true)
+  public long exportar(FiltroExportacion filtro, OutputStream salida, boolean gzip) throws IOException {
+    long inicio = System.currentTimeMillis();
+    long filas = 0;
+
+    OutputStream destino = gzip ? new GZIPOutputStream(salida, TAMANO_BUFFER, true) : salida;
+    Writer writer = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), TAMANO_BUFFER);
+    // El cliente recibe la cabecera sin esperar al primer bloque de filas
+    writer.write(CABECERA);
+    writer.flush();
+
+    StringBuilder linea = new StringBuilder(128);
+    try (Stream<PedidoResumen> pedidos = consultar(filtro)) {
+      Iterator<PedidoResumen> iterador = pedidos.iterator();
+      while (iterador.hasNext()) {
+        linea.setLength(0);
+        escribirFila(iterador.next(), linea);
+        writer.append(linea);
+        filas++;
+      }
+    }
+    writer.flush();
+    if (destino instanceof GZIPOutputStream comprimido) {
+      comprimido.finish();
+    }
+
+    logInfo(LogEvents.EXPORTACION_PEDIDOS,
+        "Exportados {} pedidos (estado: {}, fechas: {} - {}, gzip: {}) en {} ms",
+        filas, filtro.estado(), filtro.fechaInicio(), filtro.fechaFin(), gzip,
+        System.currentTimeMillis() - inicio);
+    return filas;
+  }
+
+  private Stream<PedidoResumen> consultar(FiltroExportacion filtro) {
+    boolean porFechas = filtro.fechaInicio() != null;
+    if (filtro.estado() != null && porFechas) {
+      return pedidoRepository.exportarPorEstadoYRangoFechas(filtro.estado(), filtro.fechaInicio(), filtro.fechaFin());
+    }
+    if (filtro.estado() != null) {
+      return pedidoRepository.exportarPorEstado(filtro.estado());
+    }
+    if (porFechas) {
+      return pedidoRepository.exportarPorRangoFechas(filtro.fechaInicio(), filtro.fechaFin());
+    }
+    return pedidoRepository.exportarTodos();
+  }
+
+  /**
+   * Escribe el pedido como una línea CSV. Los textos se entrecomillan solo si
+   * contienen comas, comillas, barras invertidas o saltos de línea.
+   *
+   * Los dos parsers de la carga usan {@code \} como carácter de escape dentro
+   * de comillas (el valor por defecto de OpenCSV), así que además de duplicar
+   * las comillas se duplican las barras invertidas; si no, una barra seguida
+   * de comillas se leería como comilla escapada.
+   */
+  static void escribirFila(PedidoResumen pedido, StringBuilder destino) {
+    escribirTexto(pedido.numeroPedido(), destino);
+    destino.append(',');
+    escribirTexto(pedido.clienteId(), destino);
+    destino.append(',').append(pedido.fechaEntrega()).append(',')
+        .append(pedido.estado().name()).append(',');
+    escribirTexto(pedido.zonaEntrega(), destino);
+    destino.append(',').append(pedido.requiereRefrigeracion()).append('\n');
+  }
+
+  private static void escribirTexto(String valor, StringBuilder destino) {
+    boolean comillas = false;
+    for (int i = 0; i < valor.length() && !comillas; i++) {
+      char c = valor.charAt(i);
+      comillas = c == ',' || c == '"' || c == '\\' || c == '\n' || c == '\r';
+    }
+    if (!comillas) {
+      destino.append(valor);
+      return;
+    }
+    destino.append('"');
+    for (int i = 0; i < valor.length(); i++) {
+      char c = valor.charAt(i);
+      if (c == '"' || c == '\\') {
+        destino.append(c);
+      }
+      destino.append(c);
+    }
+    destino.append('"');
+  }
+}
@@ -0,0 +1,253 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.domain.service.ValidacionPedido;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas de la carga de pedidos en todos los modos, expuestas en
+ * {@code /actuator/metrics} y {@code /actuator/prometheus}:
+ * <ul>
+ * <li>{@code pedidos.carga.etapa.tiempo} (etapa, resultado): tiempo por lote
+ * de lectura, resolución de referencias, validación y conversión, y por
+ * bloque de persistencia.</li>
+ * <li>{@code pedidos.carga.validador.tiempo} (validador): tiempo de cada
+ * validador sumado por lote.</li>
+ * <li>{@code pedidos.carga.validador.filas} (validador, resultado): filas
+ * aceptadas y rechazadas por cada validador.</li>
+ * <li>{@code pedidos.carga.filas} (resultado): filas guardadas, rechazadas y
+ * revertidas; su tasa es el throughput en filas por segundo.</li>
+ * <li>{@code pedidos.carga.bytes} (resultado): bytes de los archivos
+ * procesados; su tasa es el throughput en bytes por segundo.</li>
+ * <li>{@code pedidos.carga.activas}: cargas en curso.</li>
+ * <li>{@code pedidos.carga.duracion}, {@code pedidos.carga.archivo.tamano} y
+ * {@code pedidos.carga.archivo.filas} (resultado): distribución de la
+ * duración, el tamaño y las filas de cada carga.</li>
+ * </ul>
+ * El resultado de una carga es {@code exito}, {@code con_errores},
+ * {@code vacia} o {@code fallida}.
+ */
+@Component
+public class MetricasCarga {
+
+  /**
+   * Validadores medidos, en el orden en que se ejecutan.
+   */
+  enum Validador {
+    PEDIDO("pedido"),
+    CLIENTE("cliente"),
+    FECHA("fecha"),
+    ESTADO("estado"),
+    ZONA("zona");
+
+    final String etiqueta;
+
+    Validador(String etiqueta) {
+      this.etiqueta = etiqueta;
+    }
+  }
+
+  static final String CARGA_EXITO = "exito";
+  static final String CARGA_CON_ERRORES = "con_errores";
+  static final String CARGA_VACIA = "vacia";
+  static final String CARGA_FALLIDA = "fallida";
+
+  static final String FILA_GUARDADA = "guardada";
+  static final String FILA_RECHAZADA = "rechazada";
+  static final String FILA_REVERTIDA = "revertida";
+
+  private static final Validador[] VALIDADORES = Validador.values();
+
+  private final MeterRegistry registry;
+  private final AtomicInteger activas = new AtomicInteger();
+  private final Map<EstadisticasCarga.Etapa, Timer> etapasExito = new EnumMap<>(EstadisticasCarga.Etapa.class);
+  private final Map<EstadisticasCarga.Etapa, Timer> etapasError = new EnumMap<>(EstadisticasCarga.Etapa.class);
+  private final Timer[] tiemposValidador = new Timer[VALIDADORES.length];
+  private final Counter[] validas = new Counter[VALIDADORES.length];
+  private final Counter[] rechazadas = new Counter[VALIDADORES.length];
+  private final Map<String, Counter> filas;
+
+  public MetricasCarga(MeterRegistry registry) {
+    this.registry = registry;
+
+    for (EstadisticasCarga.Etapa etapa : EstadisticasCarga.Etapa.values()) {
+      etapasExito.put(etapa, tiempoEtapa(etapa, "ok"));
+      etapasError.put(etapa, tiempoEtapa(etapa, "error"));
+    }
+    for (Validador validador : VALIDADORES) {
+      tiemposValidador[validador.ordinal()] = Timer.builder("pedidos.carga.validador.tiempo")
+          .description("Tiempo de cada validador sumado por lote")
+          .tag("validador", validador.etiqueta)
+          .register(registry);
+      validas[validador.ordinal()] = filasValidador(validador, "valida");
+      rechazadas[validador.ordinal()] = filasValidador(validador, "rechazada");
+    }
+    filas = Map.of(
+        FILA_GUARDADA, filas(FILA_GUARDADA),
+        FILA_RECHAZADA, filas(FILA_RECHAZADA),
+        FILA_REVERTIDA, filas(FILA_REVERTIDA));
+
+    Gauge.builder("pedidos.carga.activas", activas, AtomicInteger::get)
+        .description("Cargas de pedidos en curso")
+        .register(registry);
+  }
+
+  /**
+   * Marca el inicio de una carga.
+   *
+   * @return Instante de inicio para {@link #finalizar}
+   */
+  long iniciar() {
+    activas.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  /**
+   * Registra el final de una carga iniciada con {@link #iniciar()}.
+   */
+  void finalizar(long inicio, String resultado, long bytes, long totalFilas) {
+    activas.decrementAndGet();
+    Timer.builder("pedidos.carga.duracion")
+        .description("Duración de cada carga")
+        .tag("resultado", resultado)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(10))
+        .maximumExpectedValue(Duration.ofHours(1))
+        .register(registry)
+        .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    Counter.builder("pedidos.carga.bytes")
+        .description("Bytes de los archivos de pedidos procesados")
+        .baseUnit("bytes")
+        .tag("resultado", resultado)
+        .register(registry)
+        .increment(bytes);
+    DistributionSummary.builder("pedidos.carga.archivo.tamano")
+        .description("Tamaño de los archivos de pedidos recibidos")
+        .baseUnit("bytes")
+        .tag("resultado", resultado)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(1_024.0)
+        .maximumExpectedValue(10_737_418_240.0)
+        .register(registry)
+        .record(bytes);
+    DistributionSummary.builder("pedidos.carga.archivo.filas")
+        .description("Filas de datos de los archivos de pedidos recibidos")
+        .tag("resultado", resultado)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(1.0)
+        .maximumExpectedValue(100_000_000.0)
+        .register(registry)
+        .record(totalFilas);
+  }
+
+  void medir(EstadisticasCarga.Etapa etapa, long nanos, boolean exito) {
+    (exito ? etapasExito : etapasError).get(etapa).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  void contarFilas(String resultado, long cantidad) {
+    if (cantidad > 0) {
+      filas.get(resultado).increment(cantidad);
+    }
+  }
+
+  /**
+   * Vuelca en los medidores lo acumulado al validar un lote.
+   */
+  void registrar(MedicionLote medicion) {
+    if (medicion.filas == 0) {
+      return;
+    }
+    for (Validador validador : VALIDADORES) {
+      int i = validador.ordinal();
+      tiemposValidador[i].record(medicion.nanos[i], TimeUnit.NANOSECONDS);
+      validas[i].increment(medicion.filas - medicion.rechazadas[i]);
+      rechazadas[i].increment(medicion.rechazadas[i]);
+    }
+  }
+
+  private Timer tiempoEtapa(EstadisticasCarga.Etapa etapa, String resultado) {
+    return Timer.builder("pedidos.carga.etapa.tiempo")
+        .description("Tiempo de cada etapa de la carga por lote o bloque")
+        .tag("etapa", etapa.name().toLowerCase())
+        .tag("resultado", resultado)
+        .register(registry);
+  }
+
+  private Counter filasValidador(Validador validador, String resultado) {
+    return Counter.builder("pedidos.carga.validador.filas")
+        .description("Filas evaluadas por cada validador")
+        .tag("validador", validador.etiqueta)
+        .tag("resultado", resultado)
+        .register(registry);
+  }
+
+  private Counter filas(String resultado) {
+    return Counter.builder("pedidos.carga.filas")
+        .description("Filas de pedidos procesadas")
+        .tag("resultado", resultado)
+        .register(registry);
+  }
+
+  /**
+   * Tiempos y rechazos de los validadores acumulados para un lote en el hilo
+   * que lo valida; se vuelca una vez por lote con {@link #registrar}.
+   */
+  static final class MedicionLote {
+
+    private final long[] nanos = new long[VALIDADORES.length];
+    private final int[] rechazadas = new int[VALIDADORES.length];
+    private int filas;
+    private int erroresFila;
+    private long inicioFila;
+    private long finFila;
+
+    /**
+     * Empieza a medir una fila.
+     *
+     * @return Instante de inicio del primer validador
+     */
+    long iniciarFila() {
+      filas++;
+      erroresFila = 0;
+      inicioFila = System.nanoTime();
+      finFila = inicioFila;
+      return inicioFila;
+    }
+
+    /**
+     * Acumula un validador ya ejecutado sobre la fila en curso.
+     *
+     * @param desde Instante en que empezó el validador
+     * @return Instante de inicio del siguiente validador
+     */
+    long registrar(Validador validador, long desde, ValidacionPedido validacion) {
+      long ahora = System.nanoTime();
+      nanos[validador.ordinal()] += ahora - desde;
+      finFila = ahora;
+      int errores = validacion.numeroErrores();
+      if (errores > erroresFila) {
+        rechazadas[validador.ordinal()]++;
+        erroresFila = errores;
+      }
+      return ahora;
+    }
+
+    /**
+     * @return Tiempo de validación de la última fila, con los relojes ya
+     *         leídos para los validadores
+     */
+    long nanosUltimaFila() {
+      return finFila - inicioFila;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas del modo pipeline, agregadas entre las cargas en curso:
+ * <ul>
+ * <li>{@code pedidos.carga.pipeline.filas} (etapa): filas procesadas por
+ * etapa; su tasa es el throughput.</li>
+ * <li>{@code pedidos.carga.pipeline.tiempo} (etapa): tiempo de trabajo por
+ * lote en cada etapa, sin contar esperas en colas.</li>
+ * <li>{@code pedidos.carga.pipeline.cola} (cola): lotes esperando en las colas
+ * de lectura y de validados.</li>
+ * </ul>
+ */
+@Component
+public class MetricasPipeline {
+
+  private final Set<PipelineCarga<?>> activos = ConcurrentHashMap.newKeySet();
+  private final Map<PipelineCarga.Etapa, Counter> filas = new EnumMap<>(PipelineCarga.Etapa.class);
+  private final Map<PipelineCarga.Etapa, Timer> tiempos = new EnumMap<>(PipelineCarga.Etapa.class);
+
+  public MetricasPipeline(MeterRegistry registry) {
+    for (PipelineCarga.Etapa etapa : PipelineCarga.Etapa.values()) {
+      filas.put(etapa, Counter.builder("pedidos.carga.pipeline.filas")
+          .description("Filas procesadas por etapa del pipeline de carga")
+          .tag("etapa", etapa.etiqueta)
+          .register(registry));
+      tiempos.put(etapa, Timer.builder("pedidos.carga.pipeline.tiempo")
+          .description("Tiempo de trabajo por lote en cada etapa del pipeline de carga")
+          .tag("etapa", etapa.etiqueta)
+          .register(registry));
+    }
+
+    Gauge.builder("pedidos.carga.pipeline.cola", activos,
+        pipelines -> pipelines.stream().mapToInt(pipeline -> pipeline.leidos.size()).sum())
+        .description("Lotes leídos esperando validación")
+        .tag("cola", "lectura")
+        .register(registry);
+    Gauge.builder("pedidos.carga.pipeline.cola", activos,
+        pipelines -> pipelines.stream().mapToInt(pipeline -> pipeline.validados.size()).sum())
+        .description("Lotes validados esperando persistencia")
+        .tag("cola", "validados")
+        .register(registry);
+  }
+
+  void registrar(PipelineCarga<?> pipeline) {
+    activos.add(pipeline);
+  }
+
+  void desregistrar(PipelineCarga<?> pipeline) {
+    activos.remove(pipeline);
+  }
+
+  void medir(PipelineCarga.Etapa etapa, int filasLote, long nanosLote) {
+    filas.get(etapa).increment(filasLote);
+    tiempos.get(etapa).record(nanosLote, TimeUnit.NANOSECONDS);
+  }
+}
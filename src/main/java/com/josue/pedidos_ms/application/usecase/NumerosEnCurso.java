@@ -0,0 +1,98 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Números de pedido que una carga necesita recordar para detectar repetidos
+ * dentro del archivo, acotados por lo que está en curso y no por el tamaño
+ * del archivo.
+ *
+ * Al validar, cada lote consulta en la base de datos qué números ya existen;
+ * esa consulta ve los bloques confirmados hasta ese momento. Un repetido
+ * entre lotes solo se le escapa si el número anterior aún no estaba
+ * confirmado al consultar: sigue pendiente, o pertenece a un bloque
+ * confirmado después. Por eso se guardan los números pendientes y los de los
+ * bloques confirmados que algún lote en validación todavía no ha visto. El
+ * resto ya los detecta la consulta y se descartan.
+ *
+ * Memoria: como mucho los pedidos pendientes de confirmar más los confirmados
+ * mientras hay lotes en vuelo (del orden de {@code tamano-commit} más
+ * lotes en vuelo × {@code tamano-lote}), independiente del archivo.
+ */
+public final class NumerosEnCurso {
+
+  private record Confirmado(int commit, List<String> numeros) {
+  }
+
+  private final Set<String> pendientes = new HashSet<>();
+  private final Set<String> confirmados = new HashSet<>();
+  private final Deque<Confirmado> bloques = new ArrayDeque<>();
+  // Lotes en validación o sin consumir, por commits vistos al validar
+  private final TreeMap<Integer, Integer> enVuelo = new TreeMap<>();
+  private int commits;
+
+  /**
+   * Marca el inicio de la validación de un lote, antes de consultar los
+   * números existentes.
+   *
+   * @return Commits confirmados que verá la consulta del lote
+   */
+  public synchronized int iniciarLote() {
+    enVuelo.merge(commits, 1, Integer::sum);
+    return commits;
+  }
+
+  /**
+   * Acepta un número de un lote ya validado.
+   *
+   * @return false si el número ya apareció antes en el archivo
+   */
+  public synchronized boolean aceptar(String numeroPedido) {
+    if (confirmados.contains(numeroPedido)) {
+      return false;
+    }
+    return pendientes.add(numeroPedido);
+  }
+
+  /**
+   * Da por consumido un lote iniciado con {@link #iniciarLote()} y descarta
+   * los bloques que ya ven todos los lotes en vuelo.
+   */
+  public synchronized void terminarLote(int commitsVistos) {
+    enVuelo.computeIfPresent(commitsVistos, (clave, lotes) -> lotes == 1 ? null : lotes - 1);
+    descartarVistos();
+  }
+
+  private void descartarVistos() {
+    int vistoPorTodos = enVuelo.isEmpty() ? commits : enVuelo.firstKey();
+    while (!bloques.isEmpty() && bloques.peekFirst().commit() <= vistoPorTodos) {
+      confirmados.removeAll(bloques.removeFirst().numeros());
+    }
+  }
+
+  /**
+   * Registra el resultado de un bloque. Los números de un bloque revertido no
+   * están en la base de datos, así que una aparición posterior es válida.
+   */
+  public synchronized void cerrarBloque(List<String> numeros, boolean confirmado) {
+    numeros.forEach(pendientes::remove);
+    if (confirmado) {
+      commits++;
+      confirmados.addAll(numeros);
+      bloques.addLast(new Confirmado(commits, numeros));
+      descartarVistos();
+    }
+  }
+
+  /**
+   * @return Números retenidos en memoria
+   */
+  public synchronized int retenidos() {
+    return pendientes.size() + confirmados.size();
+  }
+}
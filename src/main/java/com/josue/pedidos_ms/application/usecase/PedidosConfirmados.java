@@ -0,0 +1,64 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.domain.model.Pedido;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evento publicado por cada bloque de pedidos confirmado durante una carga,
+ * con lo que ese bloque ha tocado: basta para desalojar solo las consultas
+ * afectadas en lugar de vaciar los cachés completos.
+ *
+ * @param pedidos                    Pedidos insertados en el bloque
+ * @param clientes                   IDs de cliente con pedidos nuevos
+ * @param estados                    Estados de los pedidos nuevos
+ * @param combinacionesRefrigeracion Combinaciones de refrigeración requerida
+ *                                   y soportada por la zona
+ */
+public record PedidosConfirmados(
+    List<Pedido> pedidos,
+    Set<String> clientes,
+    Set<EstadoPedido> estados,
+    Set<CombinacionRefrigeracion> combinacionesRefrigeracion) {
+
+  /**
+   * @param requerida Si el pedido requiere refrigeración
+   * @param soportada Si la zona de entrega la soporta
+   */
+  public record CombinacionRefrigeracion(boolean requerida, boolean soportada) {
+
+    /**
+     * @return true si es un conflicto: refrigeración requerida en una zona
+     *         que no la soporta
+     */
+    public boolean conflicto() {
+      return requerida && !soportada;
+    }
+  }
+
+  public static PedidosConfirmados de(List<Pedido> pedidos) {
+    Set<String> clientes = new HashSet<>();
+    Set<EstadoPedido> estados = EnumSet.noneOf(EstadoPedido.class);
+    Set<CombinacionRefrigeracion> combinaciones = new HashSet<>();
+    for (Pedido pedido : pedidos) {
+      clientes.add(pedido.getCliente().getId());
+      estados.add(pedido.getEstado());
+      combinaciones.add(new CombinacionRefrigeracion(
+          pedido.isRequiereRefrigeracion(), pedido.getZonaEntrega().isSoporteRefrigeracion()));
+    }
+    return new PedidosConfirmados(List.copyOf(pedidos), Set.copyOf(clientes), Set.copyOf(estados),
+        Set.copyOf(combinaciones));
+  }
+
+  /**
+   * @return true si el bloque añade pedidos al recuento de conflictos de
+   *         refrigeración
+   */
+  public boolean tocaConflictosRefrigeracion() {
+    return combinacionesRefrigeracion.stream().anyMatch(CombinacionRefrigeracion::conflicto);
+  }
+}
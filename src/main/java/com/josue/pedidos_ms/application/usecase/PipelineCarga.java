@@ -0,0 +1,178 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import com.josue.pedidos_ms.infrastructure.csv.FilaCsv;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estado compartido por las etapas de una carga en modo pipeline: las colas
+ * acotadas entre lectura, validación y persistencia, los permisos de lotes en
+ * vuelo y el primer fallo de cualquier etapa.
+ *
+ * Las colas frenan a la etapa anterior cuando la siguiente se atrasa. Como la
+ * persistencia reordena los lotes validados por secuencia, los permisos
+ * limitan además cuántos lotes hay entre la lectura y su confirmación, de
+ * modo que un lote lento no hace crecer sin límite los que esperan detrás.
+ *
+ * @param <T> Resultado de validar un lote
+ */
+final class PipelineCarga<T> {
+
+  /**
+   * Secuencia de los marcadores de fin de etapa.
+   */
+  private static final int FIN = -1;
+
+  enum Etapa {
+    LECTURA("lectura"),
+    VALIDACION("validacion"),
+    PERSISTENCIA("persistencia");
+
+    final String etiqueta;
+
+    Etapa(String etiqueta) {
+      this.etiqueta = etiqueta;
+    }
+  }
+
+  /**
+   * Lote en tránsito entre dos etapas, numerado en el orden del archivo.
+   */
+  record Lote<E>(int secuencia, E contenido) {
+    boolean esFin() {
+      return secuencia == FIN;
+    }
+  }
+
+  final BlockingQueue<Lote<List<FilaCsv>>> leidos;
+  final BlockingQueue<Lote<T>> validados;
+  private final int capacidad;
+  private final int validadores;
+  private final Semaphore enVuelo;
+  private final AtomicReference<Throwable> fallo = new AtomicReference<>();
+  private final MetricasPipeline metricas;
+
+  private final LongAdder[] filas = new LongAdder[Etapa.values().length];
+  private final LongAdder[] nanos = new LongAdder[Etapa.values().length];
+  private final AtomicInteger maxLeidos = new AtomicInteger();
+  private final AtomicInteger maxValidados = new AtomicInteger();
+
+  PipelineCarga(int capacidad, int validadores, MetricasPipeline metricas) {
+    this.capacidad = capacidad;
+    this.validadores = validadores;
+    this.leidos = new ArrayBlockingQueue<>(capacidad);
+    // Holgura para los marcadores de fin de cada validador
+    this.validados = new ArrayBlockingQueue<>(capacidad + validadores);
+    this.enVuelo = new Semaphore(capacidad * 2 + validadores);
+    this.metricas = metricas;
+    for (int i = 0; i < filas.length; i++) {
+      filas[i] = new LongAdder();
+      nanos[i] = new LongAdder();
+    }
+  }
+
+  int validadores() {
+    return validadores;
+  }
+
+  /**
+   * Entrega un lote leído a la validación; bloquea mientras haya demasiados
+   * lotes en vuelo o la cola esté llena.
+   */
+  void publicarLeido(int secuencia, List<FilaCsv> lote) throws InterruptedException {
+    enVuelo.acquire();
+    leidos.put(new Lote<>(secuencia, lote));
+    maxLeidos.accumulateAndGet(leidos.size(), Math::max);
+  }
+
+  /**
+   * Indica a cada validador que no quedan lotes por leer.
+   */
+  void finLectura() throws InterruptedException {
+    for (int i = 0; i < validadores; i++) {
+      leidos.put(new Lote<>(FIN, null));
+    }
+  }
+
+  Lote<List<FilaCsv>> siguienteLeido() throws InterruptedException {
+    return leidos.take();
+  }
+
+  void publicarValidado(int secuencia, T resultado) throws InterruptedException {
+    validados.put(new Lote<>(secuencia, resultado));
+    maxValidados.accumulateAndGet(validados.size(), Math::max);
+  }
+
+  void finValidador() throws InterruptedException {
+    validados.put(new Lote<>(FIN, null));
+  }
+
+  Lote<T> siguienteValidado() throws InterruptedException {
+    return validados.take();
+  }
+
+  /**
+   * Libera el permiso de un lote ya persistido.
+   */
+  void liberar() {
+    enVuelo.release();
+  }
+
+  /**
+   * Registra el primer fallo de una etapa y despierta a la persistencia para
+   * que aborte la carga.
+   */
+  void fallar(Throwable causa) {
+    if (fallo.compareAndSet(null, causa)) {
+      validados.offer(new Lote<>(FIN, null));
+    }
+  }
+
+  void lanzarSiFallo() {
+    Throwable causa = fallo.get();
+    if (causa instanceof RuntimeException excepcion) {
+      throw excepcion;
+    }
+    if (causa instanceof Error error) {
+      throw error;
+    }
+    if (causa != null) {
+      throw new IllegalStateException(causa);
+    }
+  }
+
+  /**
+   * Acumula el trabajo de una etapa sobre un lote (sin contar esperas en
+   * colas).
+   */
+  void medir(Etapa etapa, int filasLote, long nanosLote) {
+    filas[etapa.ordinal()].add(filasLote);
+    nanos[etapa.ordinal()].add(nanosLote);
+    metricas.medir(etapa, filasLote, nanosLote);
+  }
+
+  /**
+   * @return Filas, tiempo de trabajo y filas/s de cada etapa, y ocupación
+   *         máxima de las colas
+   */
+  String resumen() {
+    StringBuilder resumen = new StringBuilder();
+    for (Etapa etapa : Etapa.values()) {
+      long filasEtapa = filas[etapa.ordinal()].sum();
+      long nanosEtapa = Math.max(1, nanos[etapa.ordinal()].sum());
+      resumen.append(etapa.etiqueta).append(": ").append(filasEtapa).append(" filas en ")
+          .append(TimeUnit.NANOSECONDS.toMillis(nanosEtapa)).append(" ms (")
+          .append(filasEtapa * 1_000_000_000L / nanosEtapa).append(" filas/s), ");
+    }
+    return resumen.append("cola lectura máx: ").append(maxLeidos.get()).append('/').append(capacidad)
+        .append(", cola validados máx: ").append(maxValidados.get()).append('/').append(capacidad + validadores)
+        .toString();
+  }
+}
@@ -0,0 +1,47 @@
+package com.josue.pedidos_ms.application.usecase;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de avance de una carga. Se actualizan desde los hilos que
+ * procesan el archivo y pueden leerse en cualquier momento.
+ */
+public class ProgresoCarga {
+
+  private final AtomicLong filasLeidas = new AtomicLong();
+  private final AtomicLong filasValidadas = new AtomicLong();
+  private final AtomicLong filasGuardadas = new AtomicLong();
+  private final AtomicLong errores = new AtomicLong();
+
+  void sumarLeidas(long filas) {
+    filasLeidas.addAndGet(filas);
+  }
+
+  void sumarValidadas(long filas) {
+    filasValidadas.addAndGet(filas);
+  }
+
+  void sumarGuardadas(long filas) {
+    filasGuardadas.addAndGet(filas);
+  }
+
+  void sumarErrores(long cantidad) {
+    errores.addAndGet(cantidad);
+  }
+
+  public long getFilasLeidas() {
+    return filasLeidas.get();
+  }
+
+  public long getFilasValidadas() {
+    return filasValidadas.get();
+  }
+
+  public long getFilasGuardadas() {
+    return filasGuardadas.get();
+  }
+
+  public long getErrores() {
+    return errores.get();
+  }
+}
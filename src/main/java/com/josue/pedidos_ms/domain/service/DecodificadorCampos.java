@@ -0,0 +1,112 @@
+package com.josue.pedidos_ms.domain.service;
+
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+
+/**
+ * Decodificadores de los campos de formato fijo del CSV de pedidos.
+ *
+ * Recorren el texto una vez, sin crear objetos intermedios ni usar
+ * excepciones para los valores inválidos: devuelven un valor centinela que el
+ * validador correspondiente traduce a su mensaje de error.
+ */
+public final class DecodificadorCampos {
+
+  /**
+   * Resultado de {@link #fecha(String)} para un texto que no es una fecha
+   * {@code yyyy-MM-dd} válida.
+   */
+  public static final long FECHA_INVALIDA = Long.MIN_VALUE;
+
+  private static final EstadoPedido[] ESTADOS = EstadoPedido.values();
+
+  // Días desde 0000-01-01 hasta 1970-01-01 en el calendario ISO proléptico
+  private static final long DIAS_0000_A_1970 = 719_528L;
+
+  private DecodificadorCampos() {
+  }
+
+  /**
+   * Decodifica una fecha {@code yyyy-MM-dd} estricta (rechaza, por ejemplo,
+   * el 30 de febrero).
+   *
+   * @return Día epoch ({@link java.time.LocalDate#toEpochDay()}) o
+   *         {@link #FECHA_INVALIDA}
+   */
+  public static long fecha(String valor) {
+    if (valor == null || valor.length() != 10 || valor.charAt(4) != '-' || valor.charAt(7) != '-') {
+      return FECHA_INVALIDA;
+    }
+    int anio = digitos(valor, 0, 4);
+    int mes = digitos(valor, 5, 7);
+    int dia = digitos(valor, 8, 10);
+    if (anio < 0 || mes < 1 || mes > 12 || dia < 1 || dia > diasDelMes(anio, mes)) {
+      return FECHA_INVALIDA;
+    }
+
+    // Mismo cálculo que LocalDate.toEpochDay para años no negativos
+    long total = 365L * anio + (anio + 3) / 4 - (anio + 99) / 100 + (anio + 399) / 400;
+    total += (367L * mes - 362) / 12;
+    total += dia - 1;
+    if (mes > 2) {
+      total--;
+      if (!bisiesto(anio)) {
+        total--;
+      }
+    }
+    return total - DIAS_0000_A_1970;
+  }
+
+  /**
+   * Decodifica un estado sin distinguir mayúsculas.
+   *
+   * @return El estado o null si no corresponde a ninguno
+   */
+  public static EstadoPedido estado(String valor) {
+    if (valor == null) {
+      return null;
+    }
+    for (EstadoPedido estado : ESTADOS) {
+      String nombre = estado.name();
+      if (nombre.length() == valor.length() && nombre.regionMatches(true, 0, valor, 0, nombre.length())) {
+        return estado;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return true solo para {@code true} sin distinguir mayúsculas; cualquier
+   *         otro valor equivale a no requerir refrigeración
+   */
+  public static boolean refrigeracion(String valor) {
+    return valor != null && valor.length() == 4 && "true".regionMatches(true, 0, valor, 0, 4);
+  }
+
+  /**
+   * @return Valor de los dígitos en {@code [desde, hasta)} o -1 si alguno no
+   *         es un dígito
+   */
+  private static int digitos(String valor, int desde, int hasta) {
+    int resultado = 0;
+    for (int i = desde; i < hasta; i++) {
+      int digito = valor.charAt(i) - '0';
+      if (digito < 0 || digito > 9) {
+        return -1;
+      }
+      resultado = resultado * 10 + digito;
+    }
+    return resultado;
+  }
+
+  private static int diasDelMes(int anio, int mes) {
+    return switch (mes) {
+      case 2 -> bisiesto(anio) ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+
+  private static boolean bisiesto(int anio) {
+    return (anio & 3) == 0 && (anio % 100 != 0 || anio % 400 == 0);
+  }
+}
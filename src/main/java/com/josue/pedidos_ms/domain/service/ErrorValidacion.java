@@ -0,0 +1,43 @@
+package com.josue.pedidos_ms.domain.service;
+
+/**
+ * Códigos de los errores de validación de una fila del CSV.
+ * El orden de declaración es el orden en que se reportan.
+ */
+public enum ErrorValidacion {
+
+  NUMERO_PEDIDO_VACIO("pedido", "Número de pedido vacío"),
+  NUMERO_PEDIDO_DUPLICADO("pedido", "Número de pedido duplicado"),
+  CLIENTE_VACIO("cliente", "ID de cliente vacío"),
+  CLIENTE_NO_ENCONTRADO("cliente", "Clientes no encontrados"),
+  FECHA_VACIA("fecha", "Fecha de entrega vacía"),
+  FECHA_FORMATO_INVALIDO("fecha", "Formato de fecha inválido"),
+  FECHA_PASADA("fecha", "Fecha de entrega inválida"),
+  ESTADO_VACIO("estado", "Estado vacío"),
+  ESTADO_INVALIDO("estado", "Estado inválido"),
+  ZONA_VACIA("zona", "Zona de entrega vacía"),
+  ZONA_NO_ENCONTRADA("zona", "Zonas inválidas"),
+  ZONA_SIN_REFRIGERACION("zona", "Zona no soporta refrigeración");
+
+  private final String validador;
+  private final String mensaje;
+
+  ErrorValidacion(String validador, String mensaje) {
+    this.validador = validador;
+    this.mensaje = mensaje;
+  }
+
+  /**
+   * @return Validador que detecta el error
+   */
+  public String validador() {
+    return validador;
+  }
+
+  /**
+   * @return Mensaje que se reporta al cliente para este error
+   */
+  public String mensaje() {
+    return mensaje;
+  }
+}
@@ -0,0 +1,25 @@
+package com.josue.pedidos_ms.domain.service;
+
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.shared.dto.PedidoCsvDTO;
+
+/**
+ * Fila del CSV con los campos de formato fijo ya decodificados. Se decodifica
+ * una sola vez y la usan tanto los validadores como la construcción del
+ * {@code Pedido}.
+ *
+ * @param csv                   Valores tal como vienen en el archivo
+ * @param fechaEntrega          Día epoch o {@link DecodificadorCampos#FECHA_INVALIDA}
+ * @param estado                Estado, o null si no es válido
+ * @param requiereRefrigeracion Refrigeración requerida
+ */
+public record FilaPedido(PedidoCsvDTO csv, long fechaEntrega, EstadoPedido estado, boolean requiereRefrigeracion) {
+
+  public static FilaPedido decodificar(PedidoCsvDTO csv) {
+    return new FilaPedido(
+        csv,
+        DecodificadorCampos.fecha(csv.getFechaEntrega()),
+        DecodificadorCampos.estado(csv.getEstado()),
+        DecodificadorCampos.refrigeracion(csv.getRequiereRefrigeracion()));
+  }
+}
@@ -0,0 +1,68 @@
+package com.josue.pedidos_ms.domain.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Caché negativo de IDs de cliente y zona que no existen. Un archivo con
+ * muchas referencias erróneas solo consulta cada ID desconocido una vez por
+ * expiración, en lugar de una vez por lote.
+ *
+ * Usa los cachés acotados {@code clientes-desconocidos} y
+ * {@code zonas-desconocidas} ({@code pedidos.cache}), con pocas entradas y un
+ * TTL corto: un cliente dado de alta deja de figurar como desconocido al
+ * expirar la entrada o al invalidarse. Publica su tasa de aciertos como
+ * {@code pedidos.referencias.desconocidas.aciertos} (tipo).
+ */
+@Component
+public class ReferenciasDesconocidas {
+
+  static final String CLIENTES = "clientes-desconocidos";
+  static final String ZONAS = "zonas-desconocidas";
+
+  private final Cache clientes;
+  private final Cache zonas;
+
+  public ReferenciasDesconocidas(CacheManager cacheManager, MeterRegistry registry) {
+    this.clientes = cacheManager.getCache(CLIENTES);
+    this.zonas = cacheManager.getCache(ZONAS);
+    registrarMetricas(registry, "cliente", clientes);
+    registrarMetricas(registry, "zona", zonas);
+  }
+
+  public boolean esClienteDesconocido(String id) {
+    return clientes.get(id) != null;
+  }
+
+  public boolean esZonaDesconocida(String id) {
+    return zonas.get(id) != null;
+  }
+
+  public void registrarClientes(Collection<String> ids) {
+    ids.forEach(id -> clientes.put(id, Boolean.TRUE));
+  }
+
+  public void registrarZonas(Collection<String> ids) {
+    ids.forEach(id -> zonas.put(id, Boolean.TRUE));
+  }
+
+  private static void registrarMetricas(MeterRegistry registry, String tipo, Cache cache) {
+    if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativo)) {
+      return;
+    }
+    Gauge.builder("pedidos.referencias.desconocidas.aciertos", nativo, c -> c.stats().hitRate())
+        .description("Fracción de búsquedas de IDs resueltas por el caché negativo")
+        .tag("tipo", tipo)
+        .register(registry);
+    FunctionCounter.builder("pedidos.referencias.desconocidas.consultas", nativo, c -> c.stats().requestCount())
+        .description("Búsquedas en el caché negativo de IDs inexistentes")
+        .tag("tipo", tipo)
+        .register(registry);
+  }
+}
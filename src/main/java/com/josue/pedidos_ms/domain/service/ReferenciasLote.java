@@ -0,0 +1,56 @@
+package com.josue.pedidos_ms.domain.service;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.Zona;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Clientes, zonas y números de pedido existentes resueltos de antemano para un
+ * lote de pedidos.
+ * Los validadores y la conversión a dominio leen de aquí en lugar de
+ * consultar los repositorios fila a fila.
+ *
+ * Clientes y zonas se buscan primero en la instantánea del
+ * {@link RegistroReferencias} y después entre los que se consultaron para el
+ * lote por no estar aún en el registro.
+ */
+public class ReferenciasLote {
+
+  private final RegistroReferencias.Instantanea registro;
+  private final Map<String, Cliente> clientes;
+  private final Map<String, Zona> zonas;
+  private final Set<String> pedidosExistentes;
+
+  public ReferenciasLote(RegistroReferencias.Instantanea registro, Map<String, Cliente> clientes,
+      Map<String, Zona> zonas, Set<String> pedidosExistentes) {
+    this.registro = registro;
+    this.clientes = clientes;
+    this.zonas = zonas;
+    this.pedidosExistentes = pedidosExistentes;
+  }
+
+  /**
+   * @return El cliente con ese ID o null si no existe
+   */
+  public Cliente cliente(String id) {
+    Cliente cliente = registro.cliente(id);
+    return cliente != null ? cliente : clientes.get(id);
+  }
+
+  /**
+   * @return La zona con ese ID o null si no existe
+   */
+  public Zona zona(String id) {
+    Zona zona = registro.zona(id);
+    return zona != null ? zona : zonas.get(id);
+  }
+
+  /**
+   * @return true si ya existe un pedido guardado con ese número
+   */
+  public boolean pedidoExiste(String numeroPedido) {
+    return pedidosExistentes.contains(numeroPedido);
+  }
+}
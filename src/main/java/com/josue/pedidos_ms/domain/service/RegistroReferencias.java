@@ -0,0 +1,125 @@
+package com.josue.pedidos_ms.domain.service;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.infrastructure.repository.ClienteRepository;
+import com.josue.pedidos_ms.infrastructure.repository.ZonaRepository;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registro en memoria de clientes y zonas, tablas maestras pequeñas y de
+ * cambio lento. Se carga completo al arrancar y se refresca cada
+ * {@code pedidos.referencias.refresco}.
+ *
+ * Cada carga publica una {@link Instantanea} inmutable que sustituye a la
+ * anterior de forma atómica: los lectores no se sincronizan ni ven nunca un
+ * estado a medias, y las búsquedas son accesos directos a un mapa, sin proxy
+ * de caché ni {@code Optional}.
+ *
+ * Las invalidaciones de un único cliente o zona solo vuelven a leer esa fila
+ * y publican una copia de la instantánea con la entrada sustituida.
+ */
+@Service
+@RequiredArgsConstructor
+public class RegistroReferencias extends BaseLogger {
+
+  private final ClienteRepository clienteRepository;
+  private final ZonaRepository zonaRepository;
+
+  private volatile Instantanea instantanea = Instantanea.VACIA;
+
+  /**
+   * Clientes y zonas vigentes en un momento dado.
+   */
+  public record Instantanea(Map<String, Cliente> clientes, Map<String, Zona> zonas) {
+
+    static final Instantanea VACIA = new Instantanea(Map.of(), Map.of());
+
+    /**
+     * @return El cliente con ese ID o null si no está en el registro
+     */
+    public Cliente cliente(String id) {
+      return clientes.get(id);
+    }
+
+    /**
+     * @return La zona con ese ID o null si no está en el registro
+     */
+    public Zona zona(String id) {
+      return zonas.get(id);
+    }
+  }
+
+  /**
+   * @return Instantánea vigente; conviene tomarla una vez por lote para
+   *         validarlo contra un estado consistente
+   */
+  public Instantanea instantanea() {
+    return instantanea;
+  }
+
+  /**
+   * Recarga ambas tablas y publica la nueva instantánea. Las búsquedas en
+   * curso siguen usando la anterior.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${pedidos.referencias.refresco:5m}",
+      initialDelayString = "${pedidos.referencias.refresco:5m}")
+  public synchronized void refrescar() {
+    long inicio = System.currentTimeMillis();
+
+    Map<String, Cliente> clientes = new HashMap<>();
+    for (Cliente cliente : clienteRepository.findAll()) {
+      clientes.put(cliente.getId(), cliente);
+    }
+    Map<String, Zona> zonas = new HashMap<>();
+    for (Zona zona : zonaRepository.findAll()) {
+      zonas.put(zona.getId(), zona);
+    }
+
+    instantanea = new Instantanea(Map.copyOf(clientes), Map.copyOf(zonas));
+
+    logInfo(LogEvents.REFERENCIAS_CARGADAS,
+        "Registro de referencias cargado - Clientes: {}, Zonas: {} ({} ms)",
+        clientes.size(), zonas.size(), System.currentTimeMillis() - inicio);
+  }
+
+  /**
+   * Vuelve a leer un cliente y lo sustituye en el registro, o lo retira si ya
+   * no existe.
+   */
+  public synchronized void refrescarCliente(String id) {
+    Instantanea actual = instantanea;
+    instantanea = new Instantanea(
+        reemplazar(actual.clientes(), id, clienteRepository.findById(id).orElse(null)), actual.zonas());
+  }
+
+  /**
+   * Vuelve a leer una zona y la sustituye en el registro, o la retira si ya
+   * no existe.
+   */
+  public synchronized void refrescarZona(String id) {
+    Instantanea actual = instantanea;
+    instantanea = new Instantanea(
+        actual.clientes(), reemplazar(actual.zonas(), id, zonaRepository.findById(id).orElse(null)));
+  }
+
+  private static <T> Map<String, T> reemplazar(Map<String, T> mapa, String id, T valor) {
+    Map<String, T> copia = new HashMap<>(mapa);
+    if (valor == null) {
+      copia.remove(id);
+    } else {
+      copia.put(id, valor);
+    }
+    return Map.copyOf(copia);
+  }
+}
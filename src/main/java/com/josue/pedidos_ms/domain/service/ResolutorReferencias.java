@@ -0,0 +1,99 @@
+package com.josue.pedidos_ms.domain.service;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.infrastructure.repository.ClienteRepository;
+import com.josue.pedidos_ms.infrastructure.repository.PedidoRepository;
+import com.josue.pedidos_ms.infrastructure.repository.ZonaRepository;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resuelve los clientes, zonas y números de pedido ya existentes de un lote
+ * de pedidos. Clientes y zonas salen del {@link RegistroReferencias}; solo los
+ * que aún no figuran en él se consultan, con una única consulta
+ * {@code IN (...)} por tipo de entidad. Los IDs que ya resultaron inexistentes
+ * quedan en {@link ReferenciasDesconocidas} y no se vuelven a consultar.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResolutorReferencias extends BaseLogger {
+
+  private final ClienteRepository clienteRepository;
+  private final ZonaRepository zonaRepository;
+  private final PedidoRepository pedidoRepository;
+  private final RegistroReferencias registroReferencias;
+  private final ReferenciasDesconocidas referenciasDesconocidas;
+
+  /**
+   * @param clienteIds     IDs de cliente distintos del lote
+   * @param zonaIds        IDs de zona distintos del lote
+   * @param numerosPedido  Números de pedido distintos del lote
+   * @return Referencias encontradas; los IDs inexistentes no figuran
+   */
+  public ReferenciasLote resolver(Collection<String> clienteIds, Collection<String> zonaIds,
+      Collection<String> numerosPedido) {
+    RegistroReferencias.Instantanea registro = registroReferencias.instantanea();
+
+    List<String> clientesFaltantes = new ArrayList<>();
+    for (String id : clienteIds) {
+      if (registro.cliente(id) == null && !referenciasDesconocidas.esClienteDesconocido(id)) {
+        clientesFaltantes.add(id);
+      }
+    }
+    Map<String, Cliente> clientes = new HashMap<>();
+    if (!clientesFaltantes.isEmpty()) {
+      for (Cliente cliente : clienteRepository.buscarClientesPorIds(clientesFaltantes)) {
+        clientes.put(cliente.getId(), cliente);
+      }
+      referenciasDesconocidas.registrarClientes(ausentes(clientesFaltantes, clientes));
+    }
+
+    List<String> zonasFaltantes = new ArrayList<>();
+    for (String id : zonaIds) {
+      if (registro.zona(id) == null && !referenciasDesconocidas.esZonaDesconocida(id)) {
+        zonasFaltantes.add(id);
+      }
+    }
+    Map<String, Zona> zonas = new HashMap<>();
+    if (!zonasFaltantes.isEmpty()) {
+      for (Zona zona : zonaRepository.buscarZonasPorIds(zonasFaltantes)) {
+        zonas.put(zona.getId(), zona);
+      }
+      referenciasDesconocidas.registrarZonas(ausentes(zonasFaltantes, zonas));
+    }
+
+    // No se cachea: los pedidos cambian con cada carga
+    Set<String> pedidosExistentes = numerosPedido.isEmpty()
+        ? Set.of()
+        : new HashSet<>(pedidoRepository.buscarNumerosExistentes(numerosPedido));
+
+    logDebug(LogEvents.INICIO_VALIDACION,
+        "Referencias del lote resueltas - Clientes consultados: {}/{}, Zonas consultadas: {}/{}, "
+            + "Pedidos existentes: {}/{}",
+        clientesFaltantes.size(), clienteIds.size(), zonasFaltantes.size(), zonaIds.size(),
+        pedidosExistentes.size(), numerosPedido.size());
+
+    return new ReferenciasLote(registro, clientes, zonas, pedidosExistentes);
+  }
+
+  private static List<String> ausentes(List<String> consultados, Map<String, ?> encontrados) {
+    List<String> ausentes = new ArrayList<>();
+    for (String id : consultados) {
+      if (!encontrados.containsKey(id)) {
+        ausentes.add(id);
+      }
+    }
+    return ausentes;
+  }
+}
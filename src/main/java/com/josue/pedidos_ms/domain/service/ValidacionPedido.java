@@ -0,0 +1,92 @@
+package com.josue.pedidos_ms.domain.service;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.domain.model.Zona;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de validar una fila del CSV en una sola pasada.
+ *
+ * Los validadores dejan aquí el cliente y la zona que resuelven y marcan los
+ * errores como bits de {@link ErrorValidacion}, sin listas por validador. Si
+ * la fila es válida, {@link #aPedido()} solo copia lo ya resuelto.
+ */
+public final class ValidacionPedido {
+
+  private final FilaPedido fila;
+  private Cliente cliente;
+  private Zona zona;
+  // Un bit por ordinal de ErrorValidacion
+  private int errores;
+
+  public ValidacionPedido(FilaPedido fila) {
+    this.fila = fila;
+  }
+
+  public FilaPedido fila() {
+    return fila;
+  }
+
+  public String numeroPedido() {
+    return fila.csv().getNumeroPedido();
+  }
+
+  public boolean esValida() {
+    return errores == 0;
+  }
+
+  public int numeroErrores() {
+    return Integer.bitCount(errores);
+  }
+
+  /**
+   * @return Errores encontrados en el orden de {@link ErrorValidacion}
+   */
+  public List<ErrorValidacion> errores() {
+    List<ErrorValidacion> resultado = new ArrayList<>(numeroErrores());
+    for (ErrorValidacion error : ErrorValidacion.values()) {
+      if (tiene(error)) {
+        resultado.add(error);
+      }
+    }
+    return resultado;
+  }
+
+  public boolean tiene(ErrorValidacion error) {
+    return (errores & (1 << error.ordinal())) != 0;
+  }
+
+  /**
+   * Construye el pedido a partir de los campos decodificados y las
+   * referencias resueltas. Solo debe usarse si la fila es válida.
+   */
+  public Pedido aPedido() {
+    if (!esValida()) {
+      throw new IllegalStateException("La fila tiene errores de validación: " + errores());
+    }
+    return Pedido.builder()
+        .numeroPedido(numeroPedido())
+        .cliente(cliente)
+        .fechaEntrega(LocalDate.ofEpochDay(fila.fechaEntrega()))
+        .estado(fila.estado())
+        .zonaEntrega(zona)
+        .requiereRefrigeracion(fila.requiereRefrigeracion())
+        .build();
+  }
+
+  void rechazar(ErrorValidacion error) {
+    errores |= 1 << error.ordinal();
+  }
+
+  void resolverCliente(Cliente cliente) {
+    this.cliente = cliente;
+  }
+
+  void resolverZona(Zona zona) {
+    this.zona = zona;
+  }
+}
@@ -1,11 +1,20 @@
 package com.josue.pedidos_ms.infrastructure.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.josue.pedidos_ms.infrastructure.service.CanalInvalidacion;
+import com.josue.pedidos_ms.infrastructure.service.CanalInvalidacionLocal;
+import com.josue.pedidos_ms.infrastructure.service.CanalInvalidacionPostgres;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+import java.util.List;
+
 /**
  * Configuración de caché para optimizar consultas frecuentes
  * 
@@ -14,28 +23,73 @@ import org.springframework.context.annotation.Configuration;
  * - zonas: Cache de larga duración para entidades de configuración
  * - pedidos-existencia: Cache de corta duración para validaciones
  * - estadisticas: Cache temporal para consultas de análisis
+ * - clientes/zonas-desconocidos: Cache negativo pequeño y de vida corta
+ *
+ * Cada caché es un Caffeine acotado (tamaño máximo y expiración según
+ * {@code pedidos.cache}) que registra estadísticas; Actuator las publica
+ * como métricas {@code cache.gets}, {@code cache.evictions}, etc.
+ *
+ * No hay refresco tras escritura: un {@code @Cacheable} genérico no puede
+ * recalcular su valor fuera de la llamada, así que la frescura se acota solo
+ * con {@code expirar-tras-escritura}.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+  static final List<String> CACHES = List.of(
+      "clientes", // Cache para entidades Cliente
+      "zonas", // Cache para entidades Zona
+      "pedidos-existencia", // Cache para validaciones de existencia
+      "clientes-ordenados", // Cache para listas ordenadas
+      "zonas-refrigeracion", // Cache para consultas de refrigeración
+      "estadisticas-pedidos", // Cache para consultas de análisis
+      "clientes-desconocidos", // Cache negativo de IDs de cliente inexistentes
+      "zonas-desconocidas" // Cache negativo de IDs de zona inexistentes
+  );
+
   @Bean
-  public CacheManager cacheManager() {
-    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-
-    // Configurar nombres de cache
-    cacheManager.setCacheNames(java.util.Arrays.asList(
-        "clientes", // Cache para entidades Cliente
-        "zonas", // Cache para entidades Zona
-        "pedidos-existencia", // Cache para validaciones de existencia
-        "clientes-ordenados", // Cache para listas ordenadas
-        "zonas-refrigeracion", // Cache para consultas de refrigeración
-        "estadisticas-pedidos" // Cache para consultas de análisis
-    ));
-
-    // Permitir valores null en cache
-    cacheManager.setAllowNullValues(true);
+  public CacheManager cacheManager(CachesProperties cachesProperties) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+    // Sin valores null: Spring desenvuelve Optional.empty() a null, así que los
+    // métodos que devuelven Optional excluyen ese resultado con unless
+    cacheManager.setAllowNullValues(false);
+
+    for (String cache : CACHES) {
+      cacheManager.registerCustomCache(cache, construir(cachesProperties.especificacion(cache)).build());
+    }
+
+    // Cachés no declarados arriba: acotados con los valores por defecto
+    cacheManager.setCaffeine(construir(cachesProperties.getPorDefecto()));
 
     return cacheManager;
   }
+
+  /**
+   * Canal de invalidaciones entre réplicas según
+   * {@code pedidos.cache.invalidacion.canal}: por defecto solo llega a este
+   * nodo; con {@code postgres} se difunde con LISTEN/NOTIFY.
+   */
+  @Bean
+  @ConditionalOnMissingBean(CanalInvalidacion.class)
+  public CanalInvalidacion canalInvalidacion(CachesProperties cachesProperties,
+      ObjectProvider<DataSource> dataSource) {
+    CachesProperties.Invalidacion invalidacion = cachesProperties.getInvalidacion();
+    if (invalidacion.getCanal() == CachesProperties.TipoCanal.POSTGRES) {
+      return new CanalInvalidacionPostgres(dataSource.getObject(), invalidacion.getEspera());
+    }
+    return new CanalInvalidacionLocal();
+  }
+
+  private static Caffeine<Object, Object> construir(CachesProperties.Especificacion especificacion) {
+    Caffeine<Object, Object> caffeine = Caffeine.newBuilder().recordStats();
+    if (especificacion.getMaximoEntradas() != null) {
+      caffeine.maximumSize(especificacion.getMaximoEntradas());
+    }
+    if (especificacion.getExpirarTrasEscritura() != null) {
+      caffeine.expireAfterWrite(especificacion.getExpirarTrasEscritura());
+    }
+    return caffeine;
+  }
 }
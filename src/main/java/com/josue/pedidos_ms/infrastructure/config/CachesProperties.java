@@ -0,0 +1,98 @@
+package com.josue.pedidos_ms.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Límites de los cachés de la aplicación (prefijo {@code pedidos.cache}).
+ *
+ * {@code por-defecto} aplica a todos los cachés; cada entrada de
+ * {@code caches} sobrescribe solo los valores que declara.
+ */
+@Component
+@ConfigurationProperties(prefix = "pedidos.cache")
+@Getter
+@Setter
+public class CachesProperties {
+
+  /**
+   * Valores aplicados a los cachés sin configuración propia.
+   */
+  private Especificacion porDefecto = new Especificacion(1000L, Duration.ofMinutes(10));
+
+  /**
+   * Configuración por nombre de caché.
+   */
+  private Map<String, Especificacion> caches = new LinkedHashMap<>();
+
+  /**
+   * Difusión de invalidaciones de clientes y zonas entre réplicas.
+   */
+  private Invalidacion invalidacion = new Invalidacion();
+
+  /**
+   * @return Especificación efectiva de un caché: la propia completada con los
+   *         valores por defecto
+   */
+  public Especificacion especificacion(String cache) {
+    Especificacion propia = caches.get(cache);
+    if (propia == null) {
+      return porDefecto;
+    }
+    return new Especificacion(
+        propia.getMaximoEntradas() != null ? propia.getMaximoEntradas() : porDefecto.getMaximoEntradas(),
+        propia.getExpirarTrasEscritura() != null ? propia.getExpirarTrasEscritura()
+            : porDefecto.getExpirarTrasEscritura());
+  }
+
+  public enum TipoCanal {
+    /** Solo este nodo: un único nodo o tests */
+    LOCAL,
+    /** LISTEN/NOTIFY de PostgreSQL sobre el DataSource */
+    POSTGRES
+  }
+
+  @Getter
+  @Setter
+  public static class Invalidacion {
+
+    /**
+     * Transporte de las invalidaciones.
+     */
+    private TipoCanal canal = TipoCanal.LOCAL;
+
+    /**
+     * Espera máxima de cada sondeo de avisos y pausa antes de reconectar.
+     */
+    private Duration espera = Duration.ofSeconds(1);
+  }
+
+  @Getter
+  @Setter
+  public static class Especificacion {
+
+    /**
+     * Entradas máximas; al superarse se desalojan las menos útiles.
+     */
+    private Long maximoEntradas;
+
+    /**
+     * Tiempo tras la escritura en el que una entrada expira.
+     */
+    private Duration expirarTrasEscritura;
+
+    public Especificacion() {
+    }
+
+    public Especificacion(Long maximoEntradas, Duration expirarTrasEscritura) {
+      this.maximoEntradas = maximoEntradas;
+      this.expirarTrasEscritura = expirarTrasEscritura;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.josue.pedidos_ms.infrastructure.config;
+
+import com.josue.pedidos_ms.shared.logging.LogContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecutores dedicados a la carga de archivos, separados del pool común para
+ * no competir con otras tareas de la JVM.
+ *
+ * Todos propagan el {@link LogContext} del hilo que envía cada tarea, para que
+ * los logs de los hilos de carga conserven la petición, el archivo y las
+ * líneas en proceso.
+ */
+@Configuration
+public class CargaEjecutoresConfig {
+
+  /**
+   * Pool para validar en paralelo los lotes de un mismo archivo.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ForkJoinPool cargaForkJoinPool(CargaProperties cargaProperties) {
+    return new ForkJoinPoolConContexto(
+        Math.max(1, cargaProperties.getParalelismo()),
+        pool -> {
+          ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          hilo.setName("carga-paralela-" + hilo.getPoolIndex());
+          return hilo;
+        });
+  }
+
+  /**
+   * Hilos de las etapas de lectura y validación del modo pipeline. Cada carga
+   * necesita todas sus etapas activas a la vez, así que no hay cola: el pool
+   * admite hasta {@code cargasSimultaneas} cargas de {@code paralelismo + 1}
+   * etapas y una etapa sin hilo libre se rechaza con
+   * {@link RejectedExecutionException} en lugar de esperar a otra carga.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ThreadPoolExecutor cargaPipelineExecutor(CargaProperties cargaProperties) {
+    int etapasPorCarga = Math.max(1, cargaProperties.getParalelismo()) + 1;
+    int maximo = etapasPorCarga * Math.max(1, cargaProperties.getPipeline().getCargasSimultaneas());
+    AtomicInteger contador = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(maximo, maximo, 60, TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        tarea -> {
+          Thread hilo = new Thread(tarea, "carga-pipeline-" + contador.incrementAndGet());
+          hilo.setDaemon(true);
+          return hilo;
+        },
+        new ThreadPoolExecutor.AbortPolicy()) {
+      // submit() y invokeAll() pasan también por aquí
+      @Override
+      public void execute(Runnable tarea) {
+        super.execute(LogContext.envolver(tarea));
+      }
+    };
+    // Sin cargas en curso no se retienen hilos
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Pool acotado para las cargas asíncronas: la cola limita cuántos archivos
+   * pueden quedar pendientes y el exceso se rechaza.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor cargaAsincronaExecutor(CargaProperties cargaProperties) {
+    CargaProperties.Asincrona asincrona = cargaProperties.getAsincrona();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(Math.max(1, asincrona.getHilos()));
+    executor.setMaxPoolSize(Math.max(1, asincrona.getHilos()));
+    executor.setQueueCapacity(Math.max(0, asincrona.getCapacidadCola()));
+    executor.setThreadNamePrefix("carga-async-");
+    executor.setTaskDecorator(LogContext::envolver);
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    return executor;
+  }
+
+  /**
+   * Pool fork/join que envuelve con el {@link LogContext} del llamador las
+   * tareas enviadas desde fuera. Las subtareas de un {@link ForkJoinTask} no
+   * pasan por estos métodos y se ejecutan con el contexto de su tarea raíz.
+   */
+  static final class ForkJoinPoolConContexto extends ForkJoinPool {
+
+    ForkJoinPoolConContexto(int paralelismo, ForkJoinWorkerThreadFactory fabrica) {
+      super(paralelismo, fabrica, null, false);
+    }
+
+    @Override
+    public void execute(Runnable tarea) {
+      super.execute(LogContext.envolver(tarea));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(Callable<T> tarea) {
+      return super.submit(LogContext.envolver(tarea));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(Runnable tarea, T resultado) {
+      return super.submit(LogContext.envolver(tarea), resultado);
+    }
+
+    @Override
+    public ForkJoinTask<?> submit(Runnable tarea) {
+      return super.submit(LogContext.envolver(tarea));
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.josue.pedidos_ms.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de la carga masiva de pedidos (prefijo {@code pedidos.carga}).
+ *
+ * Permiten acotar la memoria usada por una carga independientemente del
+ * tamaño del archivo recibido.
+ */
+@Component
+@ConfigurationProperties(prefix = "pedidos.carga")
+@Getter
+@Setter
+public class CargaProperties {
+
+  /**
+   * Cantidad de filas leídas, validadas y persistidas en cada lote.
+   */
+  private int tamanoLote = 1000;
+
+  /**
+   * Pedidos válidos confirmados en cada transacción. Un fallo al persistir
+   * solo revierte el bloque en curso; los anteriores quedan confirmados.
+   */
+  private int tamanoCommit = 5000;
+
+  /**
+   * Pedidos enviados por cada batch JDBC de INSERTs. También se usa como
+   * {@code hibernate.jdbc.batch_size} (ver {@code application.yml}).
+   */
+  private int tamanoBatch = 500;
+
+  /**
+   * Máximo de errores detallados incluidos en la respuesta. Por encima de este
+   * límite {@code errores} deja de ser la lista completa: los errores
+   * adicionales se cuentan y se resumen en un único detalle final de tipo
+   * {@code ERRORES_OMITIDOS}, que no es un error de fila. El total real se
+   * informa en {@code totalErrores}.
+   */
+  private int maxErrores = 10000;
+
+  /**
+   * Parser CSV a utilizar: {@code opencsv} (por defecto) o {@code bytes}
+   * (tokenizador sobre el archivo mapeado en memoria).
+   */
+  private String parser = "opencsv";
+
+  /**
+   * Modo de procesamiento de un archivo.
+   */
+  private ModoCarga modo = ModoCarga.SECUENCIAL;
+
+  /**
+   * Hilos usados para validar lotes en los modos {@link ModoCarga#PARALELO} y
+   * {@link ModoCarga#PIPELINE}.
+   */
+  private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Estrategia para insertar los pedidos validados. Con {@code auto} se elige
+   * según el dialecto de la base de datos.
+   */
+  private EstrategiaInsercion insercion = EstrategiaInsercion.AUTO;
+
+  /**
+   * Duración de validación a partir de la cual una fila se registra como
+   * evento JFR {@code pedidos.carga.FilaLenta}.
+   */
+  private Duration umbralFilaLenta = Duration.ofMillis(50);
+
+  /**
+   * Parámetros de las cargas asíncronas ({@code POST /pedidos/cargar/async}).
+   */
+  private final Asincrona asincrona = new Asincrona();
+
+  /**
+   * Parámetros del modo {@link ModoCarga#PIPELINE}.
+   */
+  private final Pipeline pipeline = new Pipeline();
+
+  /**
+   * Muestreo de los logs que se emiten por fila.
+   */
+  private final Muestreo muestreo = new Muestreo();
+
+  @Getter
+  @Setter
+  public static class Pipeline {
+
+    /**
+     * Lotes que caben en cada cola entre etapas. Al llenarse, la etapa
+     * anterior espera (backpressure).
+     */
+    private int capacidadCola = 4;
+
+    /**
+     * Cargas en modo pipeline que pueden tener sus etapas activas a la vez.
+     * Cada una ocupa {@code paralelismo + 1} hilos (lectura y validación); una
+     * carga que no encuentra hilos libres se rechaza.
+     */
+    private int cargasSimultaneas = 4;
+  }
+
+  @Getter
+  @Setter
+  public static class Muestreo {
+
+    /**
+     * Ocurrencias de cada evento por fila que se registran siempre en una
+     * carga.
+     */
+    private long primeros = 100;
+
+    /**
+     * Tras las primeras, se registra una de cada {@code cada} ocurrencias; 0
+     * para no registrar más. El resto se resume al final de la carga.
+     */
+    private long cada = 1000;
+  }
+
+  @Getter
+  @Setter
+  public static class Asincrona {
+
+    /**
+     * Cargas procesadas simultáneamente.
+     */
+    private int hilos = 2;
+
+    /**
+     * Cargas que pueden esperar en cola; al superarse se responde 503.
+     */
+    private int capacidadCola = 20;
+
+    /**
+     * Minutos que se conserva el estado de una carga finalizada.
+     */
+    private long retencionMinutos = 60;
+
+    /**
+     * Directorio donde se guardan los archivos hasta procesarlos. Por defecto,
+     * el directorio temporal del sistema.
+     */
+    private String directorio = System.getProperty("java.io.tmpdir");
+  }
+
+  public enum ModoCarga {
+    /**
+     * Lectura y validación en el hilo de la petición.
+     */
+    SECUENCIAL,
+    /**
+     * El archivo se divide en lotes por límites de registro que se tokenizan y
+     * validan en paralelo; siempre usa el tokenizador de bytes.
+     */
+    PARALELO,
+    /**
+     * Lectura, validación (varios hilos) y persistencia como etapas
+     * concurrentes unidas por colas acotadas: la lectura y la validación del
+     * siguiente lote avanzan mientras se persiste el anterior.
+     */
+    PIPELINE
+  }
+
+  public enum EstrategiaInsercion {
+    /**
+     * {@link #COPY} sobre PostgreSQL y {@link #JDBC} en cualquier otra base de
+     * datos.
+     */
+    AUTO,
+    /**
+     * {@code COPY ... FROM STDIN} de PostgreSQL.
+     */
+    COPY,
+    /**
+     * INSERTs en batches JDBC, sin pasar por el contexto de persistencia.
+     */
+    JDBC,
+    /**
+     * {@code persist} de JPA con batching de Hibernate.
+     */
+    JPA
+  }
+}
@@ -0,0 +1,50 @@
+package com.josue.pedidos_ms.infrastructure.config;
+
+import com.josue.pedidos_ms.infrastructure.repository.InsercionMasivaCopy;
+import com.josue.pedidos_ms.infrastructure.repository.InsercionMasivaJdbc;
+import com.josue.pedidos_ms.infrastructure.repository.InsercionMasivaJpa;
+import com.josue.pedidos_ms.infrastructure.repository.InsercionMasivaPedidos;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Elige la estrategia de inserción masiva de pedidos
+ * ({@code pedidos.carga.insercion}). En modo {@code auto} se decide por el
+ * dialecto de Hibernate: {@code COPY} sobre PostgreSQL y batches JDBC en el
+ * resto (H2 en los tests).
+ */
+@Configuration
+public class InsercionMasivaConfig extends BaseLogger {
+
+  @Bean
+  public InsercionMasivaPedidos insercionMasivaPedidos(CargaProperties cargaProperties,
+      DataSource dataSource, EntityManagerFactory entityManagerFactory, EntityManager entityManager) {
+    Dialect dialecto = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getJdbcServices().getDialect();
+
+    CargaProperties.EstrategiaInsercion estrategia = cargaProperties.getInsercion();
+    if (estrategia == CargaProperties.EstrategiaInsercion.AUTO) {
+      estrategia = dialecto instanceof PostgreSQLDialect
+          ? CargaProperties.EstrategiaInsercion.COPY
+          : CargaProperties.EstrategiaInsercion.JDBC;
+    }
+
+    logInfo(LogEvents.CONFIGURACION_CARGA,
+        "Inserción masiva de pedidos: {} (dialecto {})", estrategia, dialecto.getClass().getSimpleName());
+
+    return switch (estrategia) {
+      case COPY -> new InsercionMasivaCopy(dataSource, entityManager);
+      case JPA -> new InsercionMasivaJpa(entityManager, cargaProperties);
+      default -> new InsercionMasivaJdbc(dataSource, entityManager, cargaProperties);
+    };
+  }
+}
@@ -2,6 +2,9 @@ package com.josue.pedidos_ms.infrastructure.controller;
 
 import com.josue.pedidos_ms.shared.dto.ResultadoCargaResponse;
 import com.josue.pedidos_ms.shared.error.BusinessValidationException;
+import com.josue.pedidos_ms.shared.error.CargaNoEncontradaException;
+import com.josue.pedidos_ms.shared.error.CargaRechazadaException;
+import com.josue.pedidos_ms.shared.error.ConsultaInvalidaException;
 import com.josue.pedidos_ms.shared.error.CsvValidationException;
 import com.josue.pedidos_ms.shared.logging.BaseLogger;
 import com.josue.pedidos_ms.shared.logging.LogEvents;
@@ -9,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.List;
@@ -65,6 +69,73 @@ public class GlobalExceptionHandler extends BaseLogger {
                 .body(response);
     }
 
+    /**
+     * Maneja consultas de cargas asíncronas inexistentes.
+     * HTTP 404 NOT_FOUND
+     */
+    @ExceptionHandler(CargaNoEncontradaException.class)
+    public ResponseEntity<ResultadoCargaResponse> handleCargaNoEncontrada(CargaNoEncontradaException ex) {
+        logWarn(LogEvents.ERROR_VALIDACION,
+                "Carga no encontrada: {}", ex.getMessage());
+
+        ResultadoCargaResponse response = new ResultadoCargaResponse(
+                0,
+                0,
+                List.of(new ResultadoCargaResponse.ErrorDetalle(0, "", ex.getMessage(), "CARGA_NO_ENCONTRADA")),
+                UUID.randomUUID().toString(),
+                0L);
+
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(response);
+    }
+
+    /**
+     * Maneja cargas asíncronas rechazadas por falta de capacidad.
+     * HTTP 503 SERVICE_UNAVAILABLE
+     */
+    @ExceptionHandler(CargaRechazadaException.class)
+    public ResponseEntity<ResultadoCargaResponse> handleCargaRechazada(CargaRechazadaException ex) {
+        logWarn(LogEvents.ERROR_SISTEMA,
+                "Carga rechazada: {}", ex.getMessage());
+
+        ResultadoCargaResponse response = new ResultadoCargaResponse(
+                0,
+                0,
+                List.of(new ResultadoCargaResponse.ErrorDetalle(0, "", ex.getMessage(), "CARGA_RECHAZADA")),
+                UUID.randomUUID().toString(),
+                0L);
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(response);
+    }
+
+    /**
+     * Maneja parámetros inválidos en las consultas de pedidos (cursor, fechas,
+     * tamaño de página o estado inexistente).
+     * HTTP 400 BAD_REQUEST
+     */
+    @ExceptionHandler({ ConsultaInvalidaException.class, MethodArgumentTypeMismatchException.class })
+    public ResponseEntity<ResultadoCargaResponse> handleConsultaInvalida(Exception ex) {
+        String mensaje = ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Valor inválido para el parámetro " + mismatch.getName()
+                : ex.getMessage();
+        logWarn(LogEvents.ERROR_VALIDACION,
+                "Consulta inválida: {}", mensaje);
+
+        ResultadoCargaResponse response = new ResultadoCargaResponse(
+                0,
+                0,
+                List.of(new ResultadoCargaResponse.ErrorDetalle(0, "", mensaje, "CONSULTA_INVALIDA")),
+                UUID.randomUUID().toString(),
+                0L);
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(response);
+    }
+
     /**
      * Maneja errores de tamaño de archivo excedido.
      * HTTP 413 PAYLOAD_TOO_LARGE
@@ -1,18 +1,33 @@
 package com.josue.pedidos_ms.infrastructure.controller;
 
+import com.josue.pedidos_ms.application.usecase.CargaAsincronaUseCase;
 import com.josue.pedidos_ms.application.usecase.CargarPedidosUseCase;
+import com.josue.pedidos_ms.application.usecase.ConsultarPedidosUseCase;
+import com.josue.pedidos_ms.application.usecase.ExportarPedidosUseCase;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.infrastructure.service.AgregadosPedidos;
+import com.josue.pedidos_ms.shared.dto.EstadisticasPedidosResponse;
+import com.josue.pedidos_ms.shared.dto.EstadoCargaResponse;
+import com.josue.pedidos_ms.shared.dto.PaginaPedidosResponse;
 import com.josue.pedidos_ms.shared.dto.ResultadoCargaResponse;
 import com.josue.pedidos_ms.shared.error.CsvValidationException;
 import com.josue.pedidos_ms.shared.logging.BaseLogger;
 import com.josue.pedidos_ms.shared.logging.LogContext;
 import com.josue.pedidos_ms.shared.logging.LogEvents;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -21,12 +36,17 @@ import java.util.UUID;
 public class PedidoController extends BaseLogger {
 
   private final CargarPedidosUseCase cargarPedidosUseCase;
+  private final CargaAsincronaUseCase cargaAsincronaUseCase;
+  private final AgregadosPedidos agregadosPedidos;
+  private final ConsultarPedidosUseCase consultarPedidosUseCase;
+  private final ExportarPedidosUseCase exportarPedidosUseCase;
 
   @PostMapping(value = "/cargar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<ResultadoCargaResponse> cargarArchivo(@RequestParam("file") MultipartFile file) {
 
     // Generar ID único para el request
     String requestId = UUID.randomUUID().toString().substring(0, 8);
+    LogContext.setSolicitud(requestId);
     LogContext.setOperacion("HTTP_REQUEST");
 
     logInfo(LogEvents.INICIO_CARGA_CSV,
@@ -35,19 +55,7 @@ public class PedidoController extends BaseLogger {
 
     try {
       // Validaciones básicas del archivo
-      if (file.isEmpty()) {
-        logWarn(LogEvents.ARCHIVO_VACIO,
-            "Request ID: {} - Archivo vacío recibido", requestId);
-        throw new CsvValidationException("El archivo está vacío");
-      }
-
-      String filename = file.getOriginalFilename();
-      if (filename == null || !filename.toLowerCase().endsWith(".csv")) {
-        logWarn(LogEvents.ERROR_LECTURA_CSV,
-            "Request ID: {} - Formato de archivo inválido: {}",
-            requestId, filename);
-        throw new CsvValidationException("Solo se permiten archivos CSV");
-      }
+      validarArchivo(file, requestId);
 
       // Procesar archivo
       ResultadoCargaResponse resultado = cargarPedidosUseCase.procesarArchivo(file);
@@ -56,14 +64,14 @@ public class PedidoController extends BaseLogger {
       logInfo(LogEvents.FIN_CARGA_CSV,
           "Request ID: {} - Procesamiento completado en {}ms - Total: {}, Guardados: {}, Errores: {}",
           requestId, resultado.tiempoProcesamiento(), resultado.totalRegistros(), resultado.registrosGuardados(),
-          resultado.errores().size());
+          resultado.totalErrores());
 
       // Determinar código de estado HTTP basado en el resultado
       if (resultado.tieneErrores() && resultado.registrosGuardados() == 0) {
         // Ningún registro fue guardado (todos tienen errores)
         logWarn(LogEvents.ESTADISTICAS_VALIDACION,
             "Request ID: {} - Ningún registro válido encontrado - {} errores totales",
-            requestId, resultado.errores().size());
+            requestId, resultado.totalErrores());
 
         // HTTP 422: Datos con errores de validación, nada guardado
         return ResponseEntity
@@ -76,7 +84,7 @@ public class PedidoController extends BaseLogger {
         // parcial)
         logWarn(LogEvents.ESTADISTICAS_VALIDACION,
             "Request ID: {} - Procesamiento parcial - Guardados: {}, Errores: {}",
-            requestId, resultado.registrosGuardados(), resultado.errores().size());
+            requestId, resultado.registrosGuardados(), resultado.totalErrores());
 
         // HTTP 200: Procesamiento parcial exitoso
         return ResponseEntity.ok(resultado);
@@ -89,4 +97,129 @@ public class PedidoController extends BaseLogger {
       LogContext.clear();
     }
   }
+
+  /**
+   * Variante asíncrona de {@code /pedidos/cargar}: guarda el archivo, lo encola
+   * y responde de inmediato con el identificador de la carga.
+   * El avance se consulta en {@code GET /pedidos/cargas/{id}}.
+   */
+  @PostMapping(value = "/cargar/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<EstadoCargaResponse> cargarArchivoAsincrono(@RequestParam("file") MultipartFile file) {
+
+    String requestId = UUID.randomUUID().toString().substring(0, 8);
+    LogContext.setSolicitud(requestId);
+    LogContext.setOperacion("HTTP_REQUEST");
+
+    logInfo(LogEvents.INICIO_CARGA_CSV,
+        "POST /pedidos/cargar/async - Request ID: {} - Archivo: {} - Tamaño: {} bytes",
+        requestId, file.getOriginalFilename(), file.getSize());
+
+    try {
+      validarArchivo(file, requestId);
+
+      EstadoCargaResponse estado = cargaAsincronaUseCase.iniciar(file);
+
+      // HTTP 202: la carga se procesa en segundo plano
+      return ResponseEntity
+          .accepted()
+          .location(URI.create("/pedidos/cargas/" + estado.id()))
+          .body(estado);
+
+    } finally {
+      LogContext.clear();
+    }
+  }
+
+  /**
+   * Consulta el avance y, al finalizar, el resultado de una carga asíncrona.
+   */
+  @GetMapping(value = "/cargas/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<EstadoCargaResponse> consultarCarga(@PathVariable("id") String id) {
+    return ResponseEntity.ok(cargaAsincronaUseCase.consultar(id));
+  }
+
+  /**
+   * Recuentos de pedidos por estado, zona y fecha de entrega, y conflictos de
+   * refrigeración. Se sirven desde memoria, sin consultar la tabla de pedidos.
+   */
+  @GetMapping(value = "/estadisticas", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<EstadisticasPedidosResponse> consultarEstadisticas() {
+    return ResponseEntity.ok(agregadosPedidos.consultar());
+  }
+
+  /**
+   * Pedidos en un estado, por fecha de entrega y número de pedido. Para la
+   * página siguiente se envía como {@code cursor} el campo {@code siguiente}
+   * de la respuesta.
+   */
+  @GetMapping(value = "/estado/{estado}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<PaginaPedidosResponse> consultarPorEstado(@PathVariable("estado") EstadoPedido estado,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "tamano", required = false) Integer tamano) {
+    return ResponseEntity.ok(consultarPedidosUseCase.porEstado(estado, cursor, tamano));
+  }
+
+  /**
+   * Pedidos con fecha de entrega entre {@code desde} y {@code hasta}, ambas
+   * incluidas, paginados igual que {@code /estado/{estado}}.
+   */
+  @GetMapping(value = "/fechas", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<PaginaPedidosResponse> consultarPorRangoFechas(
+      @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+      @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "tamano", required = false) Integer tamano) {
+    return ResponseEntity.ok(consultarPedidosUseCase.porRangoFechas(desde, hasta, cursor, tamano));
+  }
+
+  /**
+   * Pedidos de un cliente, paginados igual que {@code /estado/{estado}}.
+   */
+  @GetMapping(value = "/cliente/{clienteId}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<PaginaPedidosResponse> consultarPorCliente(@PathVariable("clienteId") String clienteId,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "tamano", required = false) Integer tamano) {
+    return ResponseEntity.ok(consultarPedidosUseCase.porCliente(clienteId, cursor, tamano));
+  }
+
+  /**
+   * Exporta a CSV los pedidos de un estado y/o rango de fechas (todos si no
+   * se indica filtro). La respuesta se genera mientras se lee la base de
+   * datos; con {@code gzip=true} se envía comprimida
+   * ({@code Content-Encoding: gzip}).
+   */
+  @GetMapping(value = "/export", produces = "text/csv")
+  public ResponseEntity<StreamingResponseBody> exportar(
+      @RequestParam(value = "estado", required = false) EstadoPedido estado,
+      @RequestParam(value = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+      @RequestParam(value = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+      @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+    ExportarPedidosUseCase.FiltroExportacion filtro = exportarPedidosUseCase.preparar(estado, desde, hasta);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
+    headers.setContentDisposition(ContentDisposition.attachment().filename("pedidos.csv").build());
+    if (gzip) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    StreamingResponseBody cuerpo = salida -> exportarPedidosUseCase.exportar(filtro, salida, gzip);
+    return ResponseEntity.ok().headers(headers).body(cuerpo);
+  }
+
+  private void validarArchivo(MultipartFile file, String requestId) {
+    if (file.isEmpty()) {
+      logWarn(LogEvents.ARCHIVO_VACIO,
+          "Request ID: {} - Archivo vacío recibido", requestId);
+      throw new CsvValidationException("El archivo está vacío");
+    }
+
+    String filename = file.getOriginalFilename();
+    if (filename == null || !filename.toLowerCase().endsWith(".csv")) {
+      logWarn(LogEvents.ERROR_LECTURA_CSV,
+          "Request ID: {} - Formato de archivo inválido: {}",
+          requestId, filename);
+      throw new CsvValidationException("Solo se permiten archivos CSV");
+    }
+  }
 }
@@ -0,0 +1,110 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+import com.josue.pedidos_ms.shared.error.CsvValidationException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Archivo CSV recibido para carga.
+ * Ofrece acceso como stream o como archivo en disco; en el segundo caso el
+ * contenido se copia una única vez a un archivo temporal que se elimina al
+ * cerrar.
+ */
+public class ArchivoCsv implements Closeable {
+
+  private final String nombre;
+  private final long tamano;
+  private final MultipartFile origen;
+  private Path ruta;
+  private boolean temporal;
+
+  private ArchivoCsv(String nombre, long tamano, MultipartFile origen, Path ruta) {
+    this.nombre = nombre;
+    this.tamano = tamano;
+    this.origen = origen;
+    this.ruta = ruta;
+  }
+
+  /**
+   * Crea un archivo a partir de un upload multipart.
+   */
+  public static ArchivoCsv de(MultipartFile file) {
+    return new ArchivoCsv(file.getOriginalFilename(), file.getSize(), file, null);
+  }
+
+  /**
+   * Copia el upload a un archivo propio en el directorio indicado, para poder
+   * procesarlo después de que termine la petición HTTP.
+   */
+  public static ArchivoCsv preparar(MultipartFile file, Path directorio) {
+    Path destino = null;
+    try {
+      Files.createDirectories(directorio);
+      destino = Files.createTempFile(directorio, "pedidos-carga-", ".csv");
+      file.transferTo(destino);
+    } catch (IOException e) {
+      if (destino != null) {
+        destino.toFile().delete();
+      }
+      throw new CsvValidationException("No se pudo preparar el archivo CSV: " + e.getMessage(), e);
+    }
+    ArchivoCsv archivo = new ArchivoCsv(file.getOriginalFilename(), file.getSize(), null, destino);
+    archivo.temporal = true;
+    return archivo;
+  }
+
+  public String nombre() {
+    return nombre;
+  }
+
+  public long tamano() {
+    return tamano;
+  }
+
+  /**
+   * Abre un stream sobre el contenido del archivo.
+   */
+  public InputStream abrirStream() throws IOException {
+    if (ruta != null) {
+      return Files.newInputStream(ruta);
+    }
+    return origen.getInputStream();
+  }
+
+  /**
+   * Devuelve el archivo en disco, copiándolo a un temporal si es necesario.
+   */
+  public Path ruta() {
+    if (ruta == null) {
+      try {
+        Path destino = Files.createTempFile("pedidos-carga-", ".csv");
+        temporal = true;
+        ruta = destino;
+        origen.transferTo(destino);
+      } catch (IOException e) {
+        throw new CsvValidationException("No se pudo preparar el archivo CSV: " + e.getMessage(), e);
+      }
+    }
+    return ruta;
+  }
+
+  /**
+   * Elimina el archivo temporal si se creó uno.
+   */
+  @Override
+  public void close() {
+    if (temporal) {
+      try {
+        Files.deleteIfExists(ruta);
+      } catch (IOException e) {
+        // Si no se puede borrar ahora se intentará al terminar la JVM
+        ruta.toFile().deleteOnExit();
+      }
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+import com.josue.pedidos_ms.shared.error.CsvValidationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parser que mapea el archivo en memoria y lo recorre con
+ * {@link TokenizadorCsv}, evitando crear un {@code String[]} por fila.
+ * Se activa con {@code pedidos.carga.parser=bytes}.
+ */
+@Component
+@ConditionalOnProperty(name = "pedidos.carga.parser", havingValue = "bytes")
+public class BytesCsvParser implements ParserCsv {
+
+  /**
+   * Mayor archivo que cabe en un único {@link MappedByteBuffer}.
+   */
+  public static final long TAMANO_MAXIMO = Integer.MAX_VALUE;
+
+  @Override
+  public LectorCsv abrir(ArchivoCsv archivo) {
+    return new TokenizadorCsv(mapear(archivo));
+  }
+
+  /**
+   * Mapea el archivo completo en modo solo lectura.
+   */
+  public static MappedByteBuffer mapear(ArchivoCsv archivo) {
+    try (FileChannel canal = FileChannel.open(archivo.ruta(), StandardOpenOption.READ)) {
+      long tamano = canal.size();
+      if (tamano > TAMANO_MAXIMO) {
+        throw new CsvValidationException("El archivo excede el tamaño máximo soportado por el parser de bytes");
+      }
+      // El mapeo sigue siendo válido después de cerrar el canal
+      return canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+    } catch (IOException e) {
+      throw new CsvValidationException("Archivo CSV ilegible o mal formateado: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+/**
+ * Registro leído de un archivo CSV.
+ * Los campos se decodifican bajo demanda, de modo que cada etapa solo paga
+ * por los campos que realmente usa.
+ */
+public interface FilaCsv {
+
+  /**
+   * Número de registro dentro del archivo (la cabecera es el registro 1).
+   * Es el valor que se informa en {@code ErrorDetalle.linea}.
+   */
+  int linea();
+
+  /**
+   * Cantidad de campos del registro.
+   */
+  int numeroCampos();
+
+  /**
+   * Decodifica el campo indicado, sin espacios al inicio ni al final.
+   *
+   * @param indice Posición del campo (base 0)
+   * @return Valor del campo
+   */
+  String campo(int indice);
+
+  /**
+   * Devuelve una copia independiente del lector que la produjo.
+   * Los lectores pueden reutilizar la misma instancia entre llamadas a
+   * {@link LectorCsv#siguiente()}.
+   */
+  FilaCsv fijar();
+}
@@ -0,0 +1,22 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+import java.io.Closeable;
+
+/**
+ * Lector secuencial de registros CSV.
+ */
+public interface LectorCsv extends Closeable {
+
+  /**
+   * Lee el siguiente registro. La instancia devuelta solo es válida hasta la
+   * siguiente llamada; usar {@link FilaCsv#fijar()} para conservarla.
+   *
+   * @return Siguiente registro o null al llegar al final del archivo
+   * @throws com.josue.pedidos_ms.shared.error.CsvValidationException si el
+   *         archivo está mal formado
+   */
+  FilaCsv siguiente();
+
+  @Override
+  void close();
+}
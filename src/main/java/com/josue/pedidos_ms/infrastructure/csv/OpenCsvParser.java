@@ -0,0 +1,81 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+import com.josue.pedidos_ms.shared.error.CsvValidationException;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser basado en OpenCSV. Es el parser por defecto.
+ */
+@Component
+@ConditionalOnProperty(name = "pedidos.carga.parser", havingValue = "opencsv", matchIfMissing = true)
+public class OpenCsvParser implements ParserCsv {
+
+  @Override
+  public LectorCsv abrir(ArchivoCsv archivo) {
+    try {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(archivo.abrirStream(), StandardCharsets.UTF_8));
+      return new Lector(new CSVReader(reader));
+    } catch (IOException e) {
+      throw new CsvValidationException("Archivo CSV ilegible o mal formateado: " + e.getMessage(), e);
+    }
+  }
+
+  private static final class Lector implements LectorCsv {
+
+    private final CSVReader csvReader;
+    private int linea;
+
+    private Lector(CSVReader csvReader) {
+      this.csvReader = csvReader;
+    }
+
+    @Override
+    public FilaCsv siguiente() {
+      try {
+        String[] campos = csvReader.readNext();
+        if (campos == null) {
+          return null;
+        }
+        linea++;
+        return new Fila(linea, campos);
+      } catch (IOException | CsvException e) {
+        throw new CsvValidationException("Archivo CSV ilegible o mal formateado: " + e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        csvReader.close();
+      } catch (IOException e) {
+        // Nada que hacer: el archivo ya fue leído
+      }
+    }
+  }
+
+  private record Fila(int linea, String[] campos) implements FilaCsv {
+
+    @Override
+    public int numeroCampos() {
+      return campos.length;
+    }
+
+    @Override
+    public String campo(int indice) {
+      return campos[indice].trim();
+    }
+
+    @Override
+    public FilaCsv fijar() {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+/**
+ * Estrategia de lectura de archivos CSV de pedidos.
+ * La implementación activa se elige con {@code pedidos.carga.parser}.
+ */
+public interface ParserCsv {
+
+  /**
+   * Abre un lector sobre el archivo recibido.
+   *
+   * @param archivo Archivo CSV a leer
+   * @return Lector posicionado antes del primer registro (cabecera)
+   */
+  LectorCsv abrir(ArchivoCsv archivo);
+}
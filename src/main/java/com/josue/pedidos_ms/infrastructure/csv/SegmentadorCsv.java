@@ -0,0 +1,84 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+import com.josue.pedidos_ms.shared.error.CsvValidationException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divide un archivo CSV en segmentos que terminan siempre en un límite de
+ * registro, para que cada uno pueda tokenizarse de forma independiente.
+ *
+ * El recorrido solo sigue el estado de las comillas (las mismas reglas que
+ * {@link TokenizadorCsv}) sin decodificar campos, por lo que es mucho más
+ * barato que tokenizar el archivo.
+ */
+public final class SegmentadorCsv {
+
+  private SegmentadorCsv() {
+  }
+
+  /**
+   * Segmento del archivo con su posición en el buffer original.
+   *
+   * @param inicio       Posición del primer byte del segmento
+   * @param fin          Posición siguiente al último byte del segmento
+   * @param lineaInicial Registros del archivo que preceden al segmento
+   */
+  public record Segmento(int inicio, int fin, int lineaInicial) {
+
+    /**
+     * Crea un tokenizador sobre el segmento, con la numeración de registros
+     * del archivo completo.
+     */
+    public TokenizadorCsv tokenizar(ByteBuffer buffer) {
+      return new TokenizadorCsv(buffer.slice(inicio, fin - inicio), lineaInicial);
+    }
+  }
+
+  /**
+   * Divide el buffer en segmentos de como máximo {@code registrosPorSegmento}
+   * registros.
+   *
+   * @throws CsvValidationException si el archivo termina dentro de comillas
+   */
+  public static List<Segmento> dividir(ByteBuffer buffer, int registrosPorSegmento) {
+    List<Segmento> segmentos = new ArrayList<>();
+    int limite = buffer.limit();
+    int inicioSegmento = buffer.position();
+    int lineaInicial = 0;
+    int registros = 0;
+    boolean enComillas = false;
+
+    for (int posicion = inicioSegmento; posicion < limite; posicion++) {
+      byte b = buffer.get(posicion);
+      if (enComillas) {
+        if ((b == TokenizadorCsv.ESCAPE || b == TokenizadorCsv.COMILLA) && posicion + 1 < limite
+            && TokenizadorCsv.esEscapable(b, buffer.get(posicion + 1))) {
+          posicion++;
+        } else if (b == TokenizadorCsv.COMILLA) {
+          enComillas = false;
+        }
+      } else if (b == TokenizadorCsv.COMILLA) {
+        enComillas = true;
+      } else if (b == TokenizadorCsv.FIN_LINEA) {
+        registros++;
+        if (registros - lineaInicial >= registrosPorSegmento) {
+          segmentos.add(new Segmento(inicioSegmento, posicion + 1, lineaInicial));
+          inicioSegmento = posicion + 1;
+          lineaInicial = registros;
+        }
+      }
+    }
+
+    if (enComillas) {
+      throw new CsvValidationException(
+          "Archivo CSV ilegible o mal formateado: campo entre comillas sin cerrar en el registro " + (registros + 1));
+    }
+    if (inicioSegmento < limite) {
+      segmentos.add(new Segmento(inicioSegmento, limite, lineaInicial));
+    }
+    return segmentos;
+  }
+}
@@ -0,0 +1,234 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+import com.josue.pedidos_ms.shared.error.CsvValidationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tokenizador CSV a nivel de bytes sobre un {@link ByteBuffer} (normalmente un
+ * archivo mapeado en memoria).
+ *
+ * Cada registro se describe con los límites de sus campos dentro del buffer,
+ * sin copiar bytes; un campo solo se decodifica a {@link String} cuando se
+ * pide. Para archivos bien formados respeta las reglas de comillas del parser
+ * por defecto de OpenCSV: separador {@code ,}, comillas dobles, {@code ""} y
+ * {@code \} como escape dentro de un campo entre comillas, y saltos de línea
+ * dentro de comillas. Las comillas sueltas en medio de un campo se descartan
+ * en lugar de reproducir las heurísticas de OpenCSV.
+ */
+public final class TokenizadorCsv implements LectorCsv {
+
+  static final byte SEPARADOR = ',';
+  static final byte COMILLA = '"';
+  static final byte ESCAPE = '\\';
+  static final byte FIN_LINEA = '\n';
+  private static final byte RETORNO = '\r';
+
+  private final ByteBuffer buffer;
+  private final int limite;
+  private final Fila fila;
+  private int posicion;
+  private int linea;
+
+  /**
+   * @param buffer Contenido CSV entre {@code position()} y {@code limit()}
+   */
+  public TokenizadorCsv(ByteBuffer buffer) {
+    this(buffer, 0);
+  }
+
+  /**
+   * @param buffer       Contenido CSV entre {@code position()} y {@code limit()}
+   * @param lineaInicial Registros que preceden al buffer en el archivo original
+   */
+  public TokenizadorCsv(ByteBuffer buffer, int lineaInicial) {
+    this.buffer = buffer;
+    this.posicion = buffer.position();
+    this.limite = buffer.limit();
+    this.linea = lineaInicial;
+    this.fila = new Fila(buffer, new int[6 * Fila.DATOS_POR_CAMPO]);
+  }
+
+  @Override
+  public FilaCsv siguiente() {
+    if (posicion >= limite) {
+      return null;
+    }
+
+    fila.numeroCampos = 0;
+    int inicioCampo = posicion;
+    boolean decodificar = false;
+    boolean enComillas = false;
+
+    while (true) {
+      if (posicion >= limite) {
+        if (enComillas) {
+          throw new CsvValidationException(
+              "Archivo CSV ilegible o mal formateado: campo entre comillas sin cerrar en el registro " + (linea + 1));
+        }
+        fila.agregarCampo(inicioCampo, sinRetorno(inicioCampo, posicion), decodificar);
+        break;
+      }
+
+      byte b = buffer.get(posicion);
+      if (enComillas) {
+        if ((b == ESCAPE || b == COMILLA) && posicion + 1 < limite && esEscapable(b, buffer.get(posicion + 1))) {
+          posicion += 2;
+        } else {
+          if (b == COMILLA) {
+            enComillas = false;
+          }
+          posicion++;
+        }
+        continue;
+      }
+
+      if (b == SEPARADOR) {
+        fila.agregarCampo(inicioCampo, posicion, decodificar);
+        posicion++;
+        inicioCampo = posicion;
+        decodificar = false;
+      } else if (b == FIN_LINEA) {
+        fila.agregarCampo(inicioCampo, sinRetorno(inicioCampo, posicion), decodificar);
+        posicion++;
+        break;
+      } else {
+        if (b == COMILLA) {
+          enComillas = true;
+          decodificar = true;
+        }
+        posicion++;
+      }
+    }
+
+    linea++;
+    fila.linea = linea;
+    return fila;
+  }
+
+  /**
+   * Registros leídos hasta el momento, incluido el offset inicial.
+   */
+  public int linea() {
+    return linea;
+  }
+
+  @Override
+  public void close() {
+    // El buffer pertenece a quien lo creó
+  }
+
+  private int sinRetorno(int inicio, int fin) {
+    return fin > inicio && buffer.get(fin - 1) == RETORNO ? fin - 1 : fin;
+  }
+
+  static boolean esEscapable(byte actual, byte siguiente) {
+    if (actual == COMILLA) {
+      return siguiente == COMILLA;
+    }
+    return siguiente == COMILLA || siguiente == ESCAPE;
+  }
+
+  /**
+   * Registro descrito por los límites de sus campos dentro del buffer.
+   */
+  private static final class Fila implements FilaCsv {
+
+    private static final int DATOS_POR_CAMPO = 3;
+
+    private final ByteBuffer buffer;
+    private int[] campos;
+    private int numeroCampos;
+    private int linea;
+    private byte[] auxiliar;
+
+    private Fila(ByteBuffer buffer, int[] campos) {
+      this.buffer = buffer;
+      this.campos = campos;
+    }
+
+    private void agregarCampo(int inicio, int fin, boolean decodificar) {
+      int base = numeroCampos * DATOS_POR_CAMPO;
+      if (base + DATOS_POR_CAMPO > campos.length) {
+        campos = Arrays.copyOf(campos, campos.length * 2);
+      }
+      campos[base] = inicio;
+      campos[base + 1] = fin;
+      campos[base + 2] = decodificar ? 1 : 0;
+      numeroCampos++;
+    }
+
+    @Override
+    public int linea() {
+      return linea;
+    }
+
+    @Override
+    public int numeroCampos() {
+      return numeroCampos;
+    }
+
+    @Override
+    public String campo(int indice) {
+      if (indice < 0 || indice >= numeroCampos) {
+        throw new IndexOutOfBoundsException("Campo " + indice + " fuera de rango: " + numeroCampos);
+      }
+      int base = indice * DATOS_POR_CAMPO;
+      int inicio = campos[base];
+      int fin = campos[base + 1];
+      if (campos[base + 2] != 0) {
+        return decodificarConComillas(inicio, fin);
+      }
+
+      // Camino rápido: se recortan los espacios sobre los bytes y se decodifica
+      // solo el rango útil
+      while (inicio < fin && (buffer.get(inicio) & 0xFF) <= ' ') {
+        inicio++;
+      }
+      while (fin > inicio && (buffer.get(fin - 1) & 0xFF) <= ' ') {
+        fin--;
+      }
+      int longitud = fin - inicio;
+      if (buffer.hasArray()) {
+        return new String(buffer.array(), buffer.arrayOffset() + inicio, longitud, StandardCharsets.UTF_8);
+      }
+      byte[] bytes = auxiliar(longitud);
+      buffer.get(inicio, bytes, 0, longitud);
+      return new String(bytes, 0, longitud, StandardCharsets.UTF_8);
+    }
+
+    private String decodificarConComillas(int inicio, int fin) {
+      byte[] bytes = auxiliar(fin - inicio);
+      int longitud = 0;
+      boolean enComillas = false;
+      for (int i = inicio; i < fin; i++) {
+        byte b = buffer.get(i);
+        if (enComillas && (b == ESCAPE || b == COMILLA) && i + 1 < fin && esEscapable(b, buffer.get(i + 1))) {
+          bytes[longitud++] = buffer.get(++i);
+        } else if (b == COMILLA) {
+          enComillas = !enComillas;
+        } else {
+          bytes[longitud++] = b;
+        }
+      }
+      return new String(bytes, 0, longitud, StandardCharsets.UTF_8).trim();
+    }
+
+    private byte[] auxiliar(int longitud) {
+      if (auxiliar == null || auxiliar.length < longitud) {
+        auxiliar = new byte[Math.max(64, longitud)];
+      }
+      return auxiliar;
+    }
+
+    @Override
+    public FilaCsv fijar() {
+      Fila copia = new Fila(buffer, Arrays.copyOf(campos, numeroCampos * DATOS_POR_CAMPO));
+      copia.numeroCampos = numeroCampos;
+      copia.linea = linea;
+      return copia;
+    }
+  }
+}
@@ -13,14 +13,20 @@ public interface ClienteRepository extends JpaRepository<Cliente, String> {
 
   // ✅ JPQL explícitas con caché para mayor rendimiento
 
-  @Cacheable(value = "clientes", key = "#id")
+  // Clave propia: comparte caché con buscarCliente, que guarda otro tipo de valor
+  @Cacheable(value = "clientes", key = "'existe:' + #id")
   @Query("SELECT COUNT(c) > 0 FROM Cliente c WHERE c.id = :id")
   boolean existsCliente(@Param("id") String id);
 
-  @Cacheable(value = "clientes", key = "#id")
+  // Los IDs inexistentes no se guardan aquí sino en el caché negativo acotado
+  @Cacheable(value = "clientes", key = "#id", unless = "#result == null")
   @Query("SELECT c FROM Cliente c WHERE c.id = :id")
   Optional<Cliente> buscarCliente(@Param("id") String id);
 
+  // Sin caché: se usa para resolver en una sola consulta los clientes de un lote
+  @Query("SELECT c FROM Cliente c WHERE c.id IN :ids")
+  java.util.List<Cliente> buscarClientesPorIds(@Param("ids") java.util.Collection<String> ids);
+
   @Cacheable(value = "clientes-ordenados", key = "'todos'")
   @Query("SELECT c FROM Cliente c ORDER BY c.nombre ASC")
   java.util.List<Cliente> buscarTodosOrdenados();
@@ -0,0 +1,114 @@
+package com.josue.pedidos_ms.infrastructure.repository;
+
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import jakarta.persistence.EntityManager;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inserción masiva con {@code COPY ... FROM STDIN} de PostgreSQL a través del
+ * {@code CopyManager} del driver: las filas se envían como un flujo CSV en
+ * bloques de {@value #TAMANO_BLOQUE} bytes, sin un statement por fila.
+ *
+ * Usa la conexión de la transacción en curso, por lo que el COPY se confirma
+ * o revierte junto con el resto de la carga; los cambios JPA pendientes se
+ * vacían antes de abrir el COPY. Un número de pedido repetido
+ * aborta el COPY completo, igual que un batch de INSERTs.
+ */
+public class InsercionMasivaCopy extends BaseLogger implements InsercionMasivaPedidos {
+
+  private static final String COPY = "COPY " + TABLA_COLUMNAS + " FROM STDIN WITH (FORMAT csv)";
+
+  static final int TAMANO_BLOQUE = 64 * 1024;
+
+  private final DataSource dataSource;
+  private final EntityManager entityManager;
+
+  public InsercionMasivaCopy(DataSource dataSource, EntityManager entityManager) {
+    this.dataSource = dataSource;
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  @Transactional
+  public int insertar(List<Pedido> pedidos) {
+    entityManager.flush();
+    Connection conexion = DataSourceUtils.getConnection(dataSource);
+    try {
+      CopyIn copy = conexion.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY);
+      try {
+        StringBuilder bloque = new StringBuilder(TAMANO_BLOQUE + 256);
+        for (Pedido pedido : pedidos) {
+          escribirFila(pedido, bloque);
+          if (bloque.length() >= TAMANO_BLOQUE) {
+            enviar(copy, bloque);
+          }
+        }
+        enviar(copy, bloque);
+        long copiados = copy.endCopy();
+
+        logDebug(LogEvents.PEDIDO_GUARDADO,
+            "Insertados {} pedidos con COPY", copiados);
+        return (int) copiados;
+      } finally {
+        if (copy.isActive()) {
+          copy.cancelCopy();
+        }
+      }
+    } catch (SQLException e) {
+      throw new SQLStateSQLExceptionTranslator().translate("COPY pedido", COPY, e);
+    } finally {
+      DataSourceUtils.releaseConnection(conexion, dataSource);
+    }
+  }
+
+  private static void enviar(CopyIn copy, StringBuilder bloque) throws SQLException {
+    if (bloque.isEmpty()) {
+      return;
+    }
+    byte[] bytes = bloque.toString().getBytes(StandardCharsets.UTF_8);
+    copy.writeToCopy(bytes, 0, bytes.length);
+    bloque.setLength(0);
+  }
+
+  /**
+   * Escribe el pedido como una línea CSV en el orden de
+   * {@link InsercionMasivaPedidos#TABLA_COLUMNAS}.
+   */
+  static void escribirFila(Pedido pedido, StringBuilder destino) {
+    escribirTexto(pedido.getNumeroPedido(), destino);
+    destino.append(',');
+    escribirTexto(pedido.getCliente().getId(), destino);
+    destino.append(',').append(pedido.getFechaEntrega()).append(',')
+        .append(pedido.getEstado().name()).append(',');
+    escribirTexto(pedido.getZonaEntrega().getId(), destino);
+    destino.append(',').append(pedido.isRequiereRefrigeracion()).append('\n');
+  }
+
+  /**
+   * Los textos van siempre entre comillas, duplicando las internas, para que
+   * comas, saltos de línea o un valor vacío no se confundan con NULL.
+   */
+  private static void escribirTexto(String valor, StringBuilder destino) {
+    destino.append('"');
+    for (int i = 0; i < valor.length(); i++) {
+      char c = valor.charAt(i);
+      if (c == '"') {
+        destino.append('"');
+      }
+      destino.append(c);
+    }
+    destino.append('"');
+  }
+}
@@ -0,0 +1,58 @@
+package com.josue.pedidos_ms.infrastructure.repository;
+
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.infrastructure.config.CargaProperties;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Inserción masiva con INSERTs en batches JDBC de
+ * {@code pedidos.carga.tamano-batch} filas. No pasa por el contexto de
+ * persistencia, así que no hay comprobaciones de existencia ni entidades
+ * gestionadas; antes de insertar se vacían los cambios JPA pendientes para
+ * que las claves foráneas vean los clientes y zonas de la misma transacción.
+ * Es la estrategia por defecto fuera de PostgreSQL (H2 en los tests).
+ */
+public class InsercionMasivaJdbc extends BaseLogger implements InsercionMasivaPedidos {
+
+  private static final String INSERT =
+      "INSERT INTO " + TABLA_COLUMNAS + " VALUES (?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManager entityManager;
+  private final CargaProperties cargaProperties;
+
+  public InsercionMasivaJdbc(DataSource dataSource, EntityManager entityManager,
+      CargaProperties cargaProperties) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.entityManager = entityManager;
+    this.cargaProperties = cargaProperties;
+  }
+
+  @Override
+  @Transactional
+  public int insertar(List<Pedido> pedidos) {
+    int tamanoBatch = Math.max(1, cargaProperties.getTamanoBatch());
+    entityManager.flush();
+
+    jdbcTemplate.batchUpdate(INSERT, pedidos, tamanoBatch, (ps, pedido) -> {
+      ps.setString(1, pedido.getNumeroPedido());
+      ps.setString(2, pedido.getCliente().getId());
+      ps.setDate(3, Date.valueOf(pedido.getFechaEntrega()));
+      ps.setString(4, pedido.getEstado().name());
+      ps.setString(5, pedido.getZonaEntrega().getId());
+      ps.setBoolean(6, pedido.isRequiereRefrigeracion());
+    });
+
+    logDebug(LogEvents.PEDIDO_GUARDADO,
+        "Insertados {} pedidos con JDBC en batches de {}", pedidos.size(), tamanoBatch);
+    return pedidos.size();
+  }
+}
@@ -0,0 +1,68 @@
+package com.josue.pedidos_ms.infrastructure.repository;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.infrastructure.config.CargaProperties;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Inserción masiva con JPA: {@code persist} (sin SELECT previo) y
+ * {@code flush}/{@code clear} cada {@code pedidos.carga.tamano-batch}
+ * pedidos. Con {@code hibernate.jdbc.batch_size} y {@code order_inserts}
+ * configurados, cada flush se envía como un único batch JDBC de INSERTs.
+ *
+ * Los clientes y zonas de los pedidos llegan desacoplados del contexto de
+ * persistencia; para que Hibernate no consulte si existen, durante el flush
+ * se sustituyen por referencias ({@code getReference}) y después se
+ * restauran.
+ */
+@RequiredArgsConstructor
+public class InsercionMasivaJpa extends BaseLogger implements InsercionMasivaPedidos {
+
+  private final EntityManager entityManager;
+  private final CargaProperties cargaProperties;
+
+  @Override
+  @Transactional
+  public int insertar(List<Pedido> pedidos) {
+    int tamanoBatch = Math.max(1, cargaProperties.getTamanoBatch());
+
+    for (int inicio = 0; inicio < pedidos.size(); inicio += tamanoBatch) {
+      insertarBatch(pedidos.subList(inicio, Math.min(inicio + tamanoBatch, pedidos.size())));
+    }
+
+    logDebug(LogEvents.PEDIDO_GUARDADO,
+        "Insertados {} pedidos en batches de {}", pedidos.size(), tamanoBatch);
+    return pedidos.size();
+  }
+
+  private void insertarBatch(List<Pedido> batch) {
+    Cliente[] clientes = new Cliente[batch.size()];
+    Zona[] zonas = new Zona[batch.size()];
+
+    for (int i = 0; i < batch.size(); i++) {
+      Pedido pedido = batch.get(i);
+      clientes[i] = pedido.getCliente();
+      zonas[i] = pedido.getZonaEntrega();
+      pedido.setCliente(entityManager.getReference(Cliente.class, clientes[i].getId()));
+      pedido.setZonaEntrega(entityManager.getReference(Zona.class, zonas[i].getId()));
+      entityManager.persist(pedido);
+    }
+
+    // Envía el batch y libera el contexto de persistencia
+    entityManager.flush();
+    entityManager.clear();
+
+    for (int i = 0; i < batch.size(); i++) {
+      batch.get(i).setCliente(clientes[i]);
+      batch.get(i).setZonaEntrega(zonas[i]);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.josue.pedidos_ms.infrastructure.repository;
+
+import com.josue.pedidos_ms.domain.model.Pedido;
+
+import java.util.List;
+
+/**
+ * Persistencia de solo inserción para los pedidos validados de una carga.
+ *
+ * A diferencia de {@code PedidoRepository.saveAll}, que con un {@code @Id}
+ * asignado no sabe si el pedido existe y hace un {@code merge} (un SELECT por
+ * fila), aquí se asume que todos los pedidos son nuevos: la validación ya
+ * descartó los números existentes y los repetidos dentro del archivo.
+ */
+public interface InsercionMasivaPedidos {
+
+  /**
+   * Tabla y columnas de {@code Pedido}, en el orden en que las escriben las
+   * implementaciones que no pasan por JPA.
+   */
+  String TABLA_COLUMNAS =
+      "pedido (numero_pedido, cliente_id, fecha_entrega, estado, zona_entrega, requiere_refrigeracion)";
+
+  /**
+   * Inserta los pedidos en una única transacción.
+   *
+   * @param pedidos Pedidos nuevos, ya validados
+   * @return Cantidad de pedidos insertados
+   */
+  int insertar(List<Pedido> pedidos);
+}
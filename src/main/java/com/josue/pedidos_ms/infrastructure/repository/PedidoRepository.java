@@ -1,15 +1,21 @@
 package com.josue.pedidos_ms.infrastructure.repository;
 
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.josue.pedidos_ms.domain.model.Pedido;
 import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.shared.dto.PedidoResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PedidoRepository extends JpaRepository<Pedido, String> {
 
@@ -19,6 +25,10 @@ public interface PedidoRepository extends JpaRepository<Pedido, String> {
     @Query("SELECT COUNT(p) > 0 FROM Pedido p WHERE p.numeroPedido = :numeroPedido")
     boolean existePedido(@Param("numeroPedido") String numeroPedido);
 
+    // Devuelve cuáles de los números de un lote ya existen (una consulta por lote)
+    @Query("SELECT p.numeroPedido FROM Pedido p WHERE p.numeroPedido IN :numeros")
+    java.util.List<String> buscarNumerosExistentes(@Param("numeros") java.util.Collection<String> numeros);
+
     @Query("SELECT p FROM Pedido p WHERE p.numeroPedido = :numeroPedido")
     Optional<Pedido> buscarPedido(@Param("numeroPedido") String numeroPedido);
 
@@ -37,6 +47,68 @@ public interface PedidoRepository extends JpaRepository<Pedido, String> {
     @Query("SELECT COUNT(p) FROM Pedido p WHERE p.requiereRefrigeracion = true AND p.zonaEntrega.soporteRefrigeracion = false")
     long contarPedidosConConflictoRefrigeracion();
 
+    // Sin caché: solo se usan para reconstruir los agregados al arrancar
+    @Query("SELECT p.estado, COUNT(p) FROM Pedido p GROUP BY p.estado")
+    java.util.List<Object[]> contarPorEstado();
+
+    @Query("SELECT p.zonaEntrega.id, COUNT(p) FROM Pedido p GROUP BY p.zonaEntrega.id")
+    java.util.List<Object[]> contarPorZona();
+
+    @Query("SELECT p.fechaEntrega, COUNT(p) FROM Pedido p GROUP BY p.fechaEntrega")
+    java.util.List<Object[]> contarPorFechaEntrega();
+
+    @Query("SELECT COUNT(p) FROM Pedido p WHERE p.requiereRefrigeracion = true AND p.zonaEntrega.soporteRefrigeracion = false")
+    long contarConflictosRefrigeracionSinCache();
+
+    // Paginación por clave (keyset) sobre (fecha_entrega, numero_pedido): cada página
+    // continúa tras el último pedido de la anterior, sin OFFSET ni entidades gestionadas
+    String PROYECCION_RESUMEN = "SELECT new com.josue.pedidos_ms.shared.dto.PedidoResumen("
+            + "p.numeroPedido, p.cliente.id, p.fechaEntrega, p.estado, p.zonaEntrega.id, p.requiereRefrigeracion) "
+            + "FROM Pedido p ";
+    String TRAS_CURSOR = " AND (p.fechaEntrega > :fecha OR (p.fechaEntrega = :fecha AND p.numeroPedido > :numero)) "
+            + "ORDER BY p.fechaEntrega ASC, p.numeroPedido ASC";
+
+    @Query(PROYECCION_RESUMEN + "WHERE p.estado = :estado" + TRAS_CURSOR)
+    java.util.List<PedidoResumen> paginarPorEstado(@Param("estado") EstadoPedido estado,
+            @Param("fecha") LocalDate fecha, @Param("numero") String numero, Limit limite);
+
+    @Query(PROYECCION_RESUMEN + "WHERE p.fechaEntrega BETWEEN :fechaInicio AND :fechaFin" + TRAS_CURSOR)
+    java.util.List<PedidoResumen> paginarPorRangoFechas(@Param("fechaInicio") LocalDate fechaInicio,
+            @Param("fechaFin") LocalDate fechaFin, @Param("fecha") LocalDate fecha,
+            @Param("numero") String numero, Limit limite);
+
+    @Query(PROYECCION_RESUMEN + "WHERE p.cliente.id = :clienteId" + TRAS_CURSOR)
+    java.util.List<PedidoResumen> paginarPorCliente(@Param("clienteId") String clienteId,
+            @Param("fecha") LocalDate fecha, @Param("numero") String numero, Limit limite);
+
+    // Exportación: cursor de solo avance que trae las filas de TAMANO_FETCH en TAMANO_FETCH;
+    // el Stream debe consumirse y cerrarse dentro de una transacción
+    String TAMANO_FETCH = "1000";
+    String ORDEN_EXPORTACION = " ORDER BY p.fechaEntrega ASC, p.numeroPedido ASC";
+
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query(PROYECCION_RESUMEN + ORDEN_EXPORTACION)
+    Stream<PedidoResumen> exportarTodos();
+
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query(PROYECCION_RESUMEN + "WHERE p.estado = :estado" + ORDEN_EXPORTACION)
+    Stream<PedidoResumen> exportarPorEstado(@Param("estado") EstadoPedido estado);
+
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query(PROYECCION_RESUMEN + "WHERE p.fechaEntrega BETWEEN :fechaInicio AND :fechaFin" + ORDEN_EXPORTACION)
+    Stream<PedidoResumen> exportarPorRangoFechas(@Param("fechaInicio") LocalDate fechaInicio,
+            @Param("fechaFin") LocalDate fechaFin);
+
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query(PROYECCION_RESUMEN + "WHERE p.estado = :estado AND p.fechaEntrega BETWEEN :fechaInicio AND :fechaFin"
+            + ORDEN_EXPORTACION)
+    Stream<PedidoResumen> exportarPorEstadoYRangoFechas(@Param("estado") EstadoPedido estado,
+            @Param("fechaInicio") LocalDate fechaInicio, @Param("fechaFin") LocalDate fechaFin);
+
     // 💡 Implementaciones anteriores con métodos derivados (comentadas)
     // boolean existsByNumeroPedido(String numeroPedido);
     // Optional<Pedido> findByNumeroPedido(String numeroPedido);
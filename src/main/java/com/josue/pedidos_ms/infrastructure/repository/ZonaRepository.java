@@ -13,14 +13,20 @@ public interface ZonaRepository extends JpaRepository<Zona, String> {
 
   // ✅ JPQL explícitas con caché para mayor rendimiento
 
-  @Cacheable(value = "zonas", key = "#id")
+  // Clave propia: comparte caché con buscarZona, que guarda otro tipo de valor
+  @Cacheable(value = "zonas", key = "'existe:' + #id")
   @Query("SELECT COUNT(z) > 0 FROM Zona z WHERE z.id = :id")
   boolean existsZona(@Param("id") String id);
 
-  @Cacheable(value = "zonas", key = "#id")
+  // Los IDs inexistentes no se guardan aquí sino en el caché negativo acotado
+  @Cacheable(value = "zonas", key = "#id", unless = "#result == null")
   @Query("SELECT z FROM Zona z WHERE z.id = :id")
   Optional<Zona> buscarZona(@Param("id") String id);
 
+  // Sin caché: se usa para resolver en una sola consulta las zonas de un lote
+  @Query("SELECT z FROM Zona z WHERE z.id IN :ids")
+  java.util.List<Zona> buscarZonasPorIds(@Param("ids") java.util.Collection<String> ids);
+
   @Cacheable(value = "zonas-refrigeracion", key = "'con-refrigeracion'")
   @Query("SELECT z FROM Zona z WHERE z.soporteRefrigeracion = true ORDER BY z.id ASC")
   java.util.List<Zona> buscarZonasConRefrigeracion();
@@ -0,0 +1,246 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import com.josue.pedidos_ms.application.usecase.PedidosConfirmados;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.infrastructure.repository.PedidoRepository;
+import com.josue.pedidos_ms.shared.dto.EstadisticasPedidosResponse;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recuentos de pedidos mantenidos en memoria: total, por estado, por zona, por
+ * fecha de entrega y conflictos de refrigeración.
+ *
+ * Se reconstruyen con consultas {@code GROUP BY} al arrancar y después solo
+ * se incrementan con cada bloque confirmado por una carga
+ * ({@link PedidosConfirmados}), de modo que leer una métrica es un acceso a
+ * un contador y no una consulta sobre la tabla {@code pedido}. Los pedidos
+ * solo se insertan desde la carga; un cambio hecho por fuera de la aplicación
+ * requiere llamar a {@link #reconstruir()}.
+ *
+ * Carrera entre reconstrucción y cargas: un bloque que se confirma mientras
+ * corren las consultas puede estar ya contado en ellas, y su evento llega
+ * después. Por eso la reconstrucción no retiene el monitor que necesita
+ * {@link #alConfirmar}: apunta los bloques que llegan mientras tanto y, con
+ * la misma instantánea de las consultas, comprueba si cada uno ya es
+ * visible. Solo los que no lo son se suman a los recuentos nuevos. Un bloque
+ * se inserta en una sola transacción, así que basta comprobar uno de sus
+ * pedidos.
+ */
+@Service
+@RequiredArgsConstructor
+public class AgregadosPedidos extends BaseLogger {
+
+  private final PedidoRepository pedidoRepository;
+
+  private volatile Agregados agregados = new Agregados();
+
+  // Serializa las reconstrucciones; alConfirmar no lo necesita
+  private final Object reconstruccion = new Object();
+
+  // Bloques confirmados durante la reconstrucción en curso, o null si no hay
+  // ninguna. Protegido por el monitor de this
+  private List<PedidosConfirmados> confirmadosDurante;
+
+  /**
+   * Contadores de una reconstrucción. Los mapas admiten claves nuevas
+   * mientras se leen.
+   */
+  private static final class Agregados {
+    private final LongAdder total = new LongAdder();
+    private final LongAdder conflictosRefrigeracion = new LongAdder();
+    private final Map<EstadoPedido, LongAdder> porEstado = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> porZona = new ConcurrentHashMap<>();
+    private final Map<LocalDate, LongAdder> porFechaEntrega = new ConcurrentHashMap<>();
+    private final Instant reconstruidos = Instant.now();
+
+    private static <K> void sumar(Map<K, LongAdder> mapa, K clave, long cantidad) {
+      mapa.computeIfAbsent(clave, k -> new LongAdder()).add(cantidad);
+    }
+
+    private void sumar(List<Pedido> pedidos) {
+      for (Pedido pedido : pedidos) {
+        sumar(porEstado, pedido.getEstado(), 1);
+        sumar(porZona, pedido.getZonaEntrega().getId(), 1);
+        sumar(porFechaEntrega, pedido.getFechaEntrega(), 1);
+        if (pedido.isRequiereRefrigeracion() && !pedido.getZonaEntrega().isSoporteRefrigeracion()) {
+          conflictosRefrigeracion.increment();
+        }
+      }
+      total.add(pedidos.size());
+    }
+  }
+
+  /**
+   * Recalcula todos los recuentos desde la base de datos y sustituye los
+   * vigentes. Las consultas comparten transacción REPEATABLE READ para ver
+   * una sola instantánea (en PostgreSQL, la de la primera consulta).
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  public void reconstruir() {
+    synchronized (reconstruccion) {
+      synchronized (this) {
+        confirmadosDurante = new ArrayList<>();
+      }
+      try {
+        reconstruirDesdeInstantanea();
+      } finally {
+        synchronized (this) {
+          confirmadosDurante = null;
+        }
+      }
+    }
+  }
+
+  private void reconstruirDesdeInstantanea() {
+    long inicio = System.currentTimeMillis();
+    Agregados nuevos = contar();
+
+    // Bloques confirmados durante las consultas: se suman solo los que la
+    // instantánea no incluye. El cambio de agregados se hace con el monitor
+    // y sin bloques pendientes, para no perder ninguno
+    int yaContados = 0;
+    int sumados = 0;
+    while (true) {
+      List<PedidosConfirmados> pendientes;
+      synchronized (this) {
+        if (confirmadosDurante.isEmpty()) {
+          agregados = nuevos;
+          break;
+        }
+        pendientes = confirmadosDurante;
+        confirmadosDurante = new ArrayList<>();
+      }
+      Set<String> visibles = visibles(pendientes);
+      for (PedidosConfirmados evento : pendientes) {
+        if (visibles.contains(evento.pedidos().get(0).getNumeroPedido())) {
+          yaContados++;
+        } else {
+          nuevos.sumar(evento.pedidos());
+          sumados++;
+        }
+      }
+    }
+
+    logInfo(LogEvents.AGREGADOS_RECONSTRUIDOS,
+        "Agregados de pedidos reconstruidos - Pedidos: {}, bloques concurrentes ya contados: {}, sumados: {} ({} ms)",
+        nuevos.total.sum(), yaContados, sumados, System.currentTimeMillis() - inicio);
+  }
+
+  private Agregados contar() {
+    Agregados nuevos = new Agregados();
+
+    for (Object[] fila : pedidoRepository.contarPorEstado()) {
+      long cantidad = (Long) fila[1];
+      Agregados.sumar(nuevos.porEstado, (EstadoPedido) fila[0], cantidad);
+      nuevos.total.add(cantidad);
+    }
+    for (Object[] fila : pedidoRepository.contarPorZona()) {
+      Agregados.sumar(nuevos.porZona, (String) fila[0], (Long) fila[1]);
+    }
+    for (Object[] fila : pedidoRepository.contarPorFechaEntrega()) {
+      Agregados.sumar(nuevos.porFechaEntrega, (LocalDate) fila[0], (Long) fila[1]);
+    }
+    // Sin el caché de estadísticas, que no pertenece a esta instantánea
+    nuevos.conflictosRefrigeracion.add(pedidoRepository.contarConflictosRefrigeracionSinCache());
+    return nuevos;
+  }
+
+  /**
+   * @return Números de pedido que la instantánea de la reconstrucción ya
+   *         incluye, entre el primero de cada bloque
+   */
+  private Set<String> visibles(List<PedidosConfirmados> bloques) {
+    List<String> numeros = new ArrayList<>(bloques.size());
+    for (PedidosConfirmados bloque : bloques) {
+      numeros.add(bloque.pedidos().get(0).getNumeroPedido());
+    }
+    return new HashSet<>(pedidoRepository.buscarNumerosExistentes(numeros));
+  }
+
+  /**
+   * Suma a los recuentos los pedidos de un bloque ya confirmado y, si hay una
+   * reconstrucción en curso, lo apunta para que decida si sus consultas ya lo
+   * incluyen.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void alConfirmar(PedidosConfirmados evento) {
+    if (evento.pedidos().isEmpty()) {
+      return;
+    }
+    agregados.sumar(evento.pedidos());
+    if (confirmadosDurante != null) {
+      confirmadosDurante.add(evento);
+    }
+  }
+
+  public long total() {
+    return agregados.total.sum();
+  }
+
+  public long porEstado(EstadoPedido estado) {
+    return valor(agregados.porEstado.get(estado));
+  }
+
+  public long porZona(String zonaId) {
+    return valor(agregados.porZona.get(zonaId));
+  }
+
+  public long porFechaEntrega(LocalDate fecha) {
+    return valor(agregados.porFechaEntrega.get(fecha));
+  }
+
+  public long conflictosRefrigeracion() {
+    return agregados.conflictosRefrigeracion.sum();
+  }
+
+  /**
+   * @return Todos los recuentos; los estados sin pedidos figuran con 0 y las
+   *         fechas van en orden cronológico
+   */
+  public EstadisticasPedidosResponse consultar() {
+    Agregados actuales = agregados;
+
+    Map<String, Long> porEstado = new LinkedHashMap<>();
+    for (EstadoPedido estado : EstadoPedido.values()) {
+      porEstado.put(estado.name(), valor(actuales.porEstado.get(estado)));
+    }
+    Map<String, Long> porZona = new TreeMap<>();
+    actuales.porZona.forEach((zona, cantidad) -> porZona.put(zona, cantidad.sum()));
+    Map<LocalDate, Long> porFechaEntrega = new TreeMap<>();
+    actuales.porFechaEntrega.forEach((fecha, cantidad) -> porFechaEntrega.put(fecha, cantidad.sum()));
+
+    return new EstadisticasPedidosResponse(
+        actuales.total.sum(),
+        porEstado,
+        porZona,
+        porFechaEntrega,
+        actuales.conflictosRefrigeracion.sum(),
+        actuales.reconstruidos);
+  }
+
+  private static long valor(LongAdder contador) {
+    return contador == null ? 0 : contador.sum();
+  }
+}
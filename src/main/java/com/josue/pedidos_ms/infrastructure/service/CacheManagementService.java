@@ -3,45 +3,52 @@ package com.josue.pedidos_ms.infrastructure.service;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Servicio para gestión manual de caché
  * Permite limpiar cachés específicos cuando sea necesario
+ *
+ * Las limpiezas de clientes y zonas se difunden al resto de réplicas a través
+ * de {@link InvalidacionReferencias}.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class CacheManagementService {
 
+  private final InvalidacionReferencias invalidacionReferencias;
+
   /**
    * Limpia todos los cachés de clientes
    */
-  @CacheEvict(value = { "clientes", "clientes-ordenados" }, allEntries = true)
   public void limpiarCacheClientes() {
+    invalidacionReferencias.invalidarCliente(null);
     log.info("Cache de clientes limpiado manualmente");
   }
 
   /**
    * Limpia todos los cachés de zonas
    */
-  @CacheEvict(value = { "zonas", "zonas-refrigeracion" }, allEntries = true)
   public void limpiarCacheZonas() {
+    invalidacionReferencias.invalidarZona(null);
     log.info("Cache de zonas limpiado manualmente");
   }
 
   /**
    * Limpia cache específico de un cliente
    */
-  @CacheEvict(value = "clientes", key = "#clienteId")
   public void limpiarCacheCliente(String clienteId) {
+    invalidacionReferencias.invalidarCliente(clienteId);
     log.info("Cache del cliente {} limpiado", clienteId);
   }
 
   /**
    * Limpia cache específico de una zona
    */
-  @CacheEvict(value = "zonas", key = "#zonaId")
   public void limpiarCacheZona(String zonaId) {
+    invalidacionReferencias.invalidarZona(zonaId);
     log.info("Cache de la zona {} limpiado", zonaId);
   }
 
@@ -56,14 +63,10 @@ public class CacheManagementService {
   /**
    * Limpia todos los cachés del sistema
    */
-  @CacheEvict(value = {
-      "clientes",
-      "clientes-ordenados",
-      "zonas",
-      "zonas-refrigeracion",
-      "estadisticas-pedidos"
-  }, allEntries = true)
+  @CacheEvict(value = "estadisticas-pedidos", allEntries = true)
   public void limpiarTodosLosCaches() {
+    invalidacionReferencias.invalidarCliente(null);
+    invalidacionReferencias.invalidarZona(null);
     log.info("Todos los cachés del sistema han sido limpiados");
   }
 }
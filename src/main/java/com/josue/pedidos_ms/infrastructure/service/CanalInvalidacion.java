@@ -0,0 +1,25 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de difusión de invalidaciones de caché entre réplicas de
+ * {@code pedidos-ms}. Cada nodo publica los cambios que hace y recibe los
+ * del resto, incluidos los suyos, que descarta por {@code nodoOrigen}.
+ *
+ * La entrega no necesita ser exactamente una vez: aplicar un aviso dos veces
+ * solo repite un desalojo, y si alguno se pierde el refresco periódico del
+ * registro de referencias acota el desfase.
+ */
+public interface CanalInvalidacion {
+
+  /**
+   * Envía el aviso a todos los nodos suscritos.
+   */
+  void publicar(InvalidacionCache invalidacion);
+
+  /**
+   * Registra el receptor de los avisos de este nodo.
+   */
+  void suscribir(Consumer<InvalidacionCache> receptor);
+}
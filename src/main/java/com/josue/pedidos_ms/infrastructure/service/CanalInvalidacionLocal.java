@@ -0,0 +1,37 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Canal dentro de la JVM: entrega cada aviso, en el hilo que publica, a todos
+ * los receptores suscritos. Basta con un único nodo y permite simular varios
+ * en los tests compartiendo la misma instancia. Entre réplicas se usa
+ * {@link CanalInvalidacionPostgres}.
+ */
+public class CanalInvalidacionLocal extends BaseLogger implements CanalInvalidacion {
+
+  private final List<Consumer<InvalidacionCache>> receptores = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publicar(InvalidacionCache invalidacion) {
+    for (Consumer<InvalidacionCache> receptor : receptores) {
+      try {
+        receptor.accept(invalidacion);
+      } catch (RuntimeException e) {
+        // Un receptor que falla no debe impedir que el resto reciba el aviso
+        logWarn(LogEvents.INVALIDACION_CACHE, "Fallo al entregar la invalidación {}: {}",
+            invalidacion, e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public void suscribir(Consumer<InvalidacionCache> receptor) {
+    receptores.add(receptor);
+  }
+}
@@ -0,0 +1,152 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Canal entre réplicas con LISTEN/NOTIFY de PostgreSQL sobre el
+ * {@link DataSource} de la aplicación
+ * ({@code pedidos.cache.invalidacion.canal: postgres}).
+ *
+ * Publicar es un {@code pg_notify} en la conexión de la transacción en curso,
+ * si la hay: PostgreSQL solo entrega el aviso al confirmarla, así que los
+ * demás nodos no releen el cliente o la zona antes de que el cambio sea
+ * visible. Cada nodo dedica una conexión del pool a escuchar en un hilo
+ * propio, que se reconecta si la conexión se pierde; los avisos emitidos
+ * mientras tanto se pierden y los cubre el refresco periódico del registro.
+ */
+public class CanalInvalidacionPostgres extends BaseLogger implements CanalInvalidacion, AutoCloseable {
+
+  static final String CANAL = "pedidos_invalidacion";
+  private static final String SEPARADOR = "|";
+
+  private final DataSource dataSource;
+  private final Duration espera;
+  private final List<Consumer<InvalidacionCache>> receptores = new CopyOnWriteArrayList<>();
+
+  private volatile boolean activo = true;
+  private Thread escucha;
+
+  /**
+   * @param espera Tiempo máximo de cada espera de avisos y pausa antes de
+   *               reconectar
+   */
+  public CanalInvalidacionPostgres(DataSource dataSource, Duration espera) {
+    this.dataSource = dataSource;
+    this.espera = espera;
+  }
+
+  @Override
+  public void publicar(InvalidacionCache invalidacion) {
+    Connection conexion = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement sentencia = conexion.prepareStatement("SELECT pg_notify(?, ?)")) {
+      sentencia.setString(1, CANAL);
+      sentencia.setString(2, codificar(invalidacion));
+      sentencia.execute();
+    } catch (SQLException e) {
+      // Este nodo ya la aplicó; el resto se pone al día con el refresco periódico
+      logWarn(LogEvents.INVALIDACION_CACHE, "No se pudo difundir la invalidación {}: {}",
+          invalidacion, e.getMessage());
+    } finally {
+      DataSourceUtils.releaseConnection(conexion, dataSource);
+    }
+  }
+
+  @Override
+  public synchronized void suscribir(Consumer<InvalidacionCache> receptor) {
+    receptores.add(receptor);
+    if (escucha == null) {
+      escucha = new Thread(this::escuchar, "invalidacion-cache");
+      escucha.setDaemon(true);
+      escucha.start();
+    }
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    activo = false;
+    Thread hilo;
+    synchronized (this) {
+      hilo = escucha;
+    }
+    if (hilo != null) {
+      hilo.interrupt();
+      hilo.join(espera.toMillis() * 2);
+    }
+  }
+
+  private void escuchar() {
+    while (activo) {
+      try (Connection conexion = dataSource.getConnection()) {
+        try (Statement sentencia = conexion.createStatement()) {
+          sentencia.execute("LISTEN " + CANAL);
+        }
+        PGConnection postgres = conexion.unwrap(PGConnection.class);
+        logInfo(LogEvents.INVALIDACION_CACHE, "Escuchando invalidaciones en el canal {}", CANAL);
+        while (activo) {
+          PGNotification[] avisos = postgres.getNotifications((int) espera.toMillis());
+          if (avisos != null) {
+            for (PGNotification aviso : avisos) {
+              entregar(aviso.getParameter());
+            }
+          }
+        }
+      } catch (SQLException e) {
+        if (activo) {
+          logWarn(LogEvents.INVALIDACION_CACHE, "Conexión de escucha perdida, reintentando: {}", e.getMessage());
+          try {
+            Thread.sleep(espera.toMillis());
+          } catch (InterruptedException interrupcion) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private void entregar(String carga) {
+    InvalidacionCache invalidacion;
+    try {
+      invalidacion = decodificar(carga);
+    } catch (RuntimeException e) {
+      logWarn(LogEvents.INVALIDACION_CACHE, "Aviso de invalidación ilegible: {}", carga);
+      return;
+    }
+    for (Consumer<InvalidacionCache> receptor : receptores) {
+      try {
+        receptor.accept(invalidacion);
+      } catch (RuntimeException e) {
+        logWarn(LogEvents.INVALIDACION_CACHE, "Fallo al aplicar la invalidación {}: {}",
+            invalidacion, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @return {@code nodo|TIPO|id}, con el ID vacío si afecta a toda la tabla
+   */
+  static String codificar(InvalidacionCache invalidacion) {
+    return invalidacion.nodoOrigen() + SEPARADOR + invalidacion.tipo().name() + SEPARADOR
+        + (invalidacion.todos() ? "" : invalidacion.id());
+  }
+
+  static InvalidacionCache decodificar(String carga) {
+    String[] partes = carga.split("\\|", 3);
+    return new InvalidacionCache(partes[0], InvalidacionCache.Tipo.valueOf(partes[1]),
+        partes[2].isEmpty() ? null : partes[2]);
+  }
+}
@@ -0,0 +1,21 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+/**
+ * Aviso de que un cliente o una zona ha cambiado y los nodos deben descartar
+ * lo que tengan en memoria sobre él.
+ *
+ * @param nodoOrigen Nodo que publicó el aviso; él mismo ya lo ha aplicado
+ * @param tipo       Tabla de referencia afectada
+ * @param id         ID afectado, o null si afecta a toda la tabla
+ */
+public record InvalidacionCache(String nodoOrigen, Tipo tipo, String id) {
+
+  public enum Tipo {
+    CLIENTE,
+    ZONA
+  }
+
+  public boolean todos() {
+    return id == null;
+  }
+}
@@ -0,0 +1,47 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import com.josue.pedidos_ms.application.usecase.PedidosConfirmados;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Desaloja de {@code estadisticas-pedidos} solo las consultas afectadas por
+ * los pedidos que confirma una carga: los pedidos de cada cliente tocado y el
+ * recuento de conflictos de refrigeración si el bloque añade alguno.
+ *
+ * Se ejecuta tras el commit; si la publicación ocurre fuera de una
+ * transacción, el bloque ya está confirmado y se aplica en el acto.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvalidacionEstadisticas extends BaseLogger {
+
+  static final String CACHE = "estadisticas-pedidos";
+  static final String CLAVE_CONFLICTOS = "conflictos-refrigeracion";
+
+  private final CacheManager cacheManager;
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void alConfirmar(PedidosConfirmados evento) {
+    Cache cache = cacheManager.getCache(CACHE);
+    if (cache == null) {
+      return;
+    }
+    for (String clienteId : evento.clientes()) {
+      cache.evict(clienteId);
+    }
+    boolean conflictos = evento.tocaConflictosRefrigeracion();
+    if (conflictos) {
+      cache.evict(CLAVE_CONFLICTOS);
+    }
+
+    logDebug(LogEvents.INVALIDACION_CACHE,
+        "Estadísticas desalojadas tras confirmar {} pedidos - Clientes: {}, Conflictos de refrigeración: {}",
+        evento.pedidos().size(), evento.clientes().size(), conflictos);
+  }
+}
@@ -0,0 +1,106 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import com.josue.pedidos_ms.domain.service.RegistroReferencias;
+import com.josue.pedidos_ms.shared.logging.BaseLogger;
+import com.josue.pedidos_ms.shared.logging.LogEvents;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Invalida clientes y zonas en este nodo y en el resto de réplicas a través
+ * del {@link CanalInvalidacion}.
+ *
+ * Con un ID concreto solo se desalojan sus claves en los cachés por ID, las
+ * listas que pueden contenerlo, el caché negativo y su entrada del
+ * {@link RegistroReferencias}, que se vuelve a leer de la base de datos; el
+ * resto de entradas se conserva.
+ */
+@Service
+@RequiredArgsConstructor
+public class InvalidacionReferencias extends BaseLogger {
+
+  private final CanalInvalidacion canalInvalidacion;
+  private final CacheManager cacheManager;
+  private final RegistroReferencias registroReferencias;
+
+  private final String nodo = UUID.randomUUID().toString();
+
+  @PostConstruct
+  void suscribir() {
+    canalInvalidacion.suscribir(this::recibir);
+  }
+
+  /**
+   * Invalida un cliente, o todos si el ID es null, en todos los nodos.
+   */
+  public void invalidarCliente(String clienteId) {
+    difundir(new InvalidacionCache(nodo, InvalidacionCache.Tipo.CLIENTE, clienteId));
+  }
+
+  /**
+   * Invalida una zona, o todas si el ID es null, en todos los nodos.
+   */
+  public void invalidarZona(String zonaId) {
+    difundir(new InvalidacionCache(nodo, InvalidacionCache.Tipo.ZONA, zonaId));
+  }
+
+  private void difundir(InvalidacionCache invalidacion) {
+    aplicar(invalidacion);
+    canalInvalidacion.publicar(invalidacion);
+  }
+
+  private void recibir(InvalidacionCache invalidacion) {
+    if (nodo.equals(invalidacion.nodoOrigen())) {
+      return;
+    }
+    logDebug(LogEvents.INVALIDACION_CACHE, "Invalidación recibida del nodo {}: {} {}",
+        invalidacion.nodoOrigen(), invalidacion.tipo(), invalidacion.todos() ? "(todos)" : invalidacion.id());
+    aplicar(invalidacion);
+  }
+
+  private void aplicar(InvalidacionCache invalidacion) {
+    switch (invalidacion.tipo()) {
+      case CLIENTE -> {
+        desalojar("clientes", invalidacion.id());
+        desalojar("clientes-ordenados", null);
+        desalojar("clientes-desconocidos", invalidacion.id());
+        if (invalidacion.todos()) {
+          registroReferencias.refrescar();
+        } else {
+          registroReferencias.refrescarCliente(invalidacion.id());
+        }
+      }
+      case ZONA -> {
+        desalojar("zonas", invalidacion.id());
+        desalojar("zonas-refrigeracion", null);
+        desalojar("zonas-desconocidas", invalidacion.id());
+        if (invalidacion.todos()) {
+          registroReferencias.refrescar();
+        } else {
+          registroReferencias.refrescarZona(invalidacion.id());
+        }
+      }
+    }
+  }
+
+  /**
+   * Desaloja el ID y su clave de existencia, o el caché completo si es null.
+   */
+  private void desalojar(String nombre, String id) {
+    Cache cache = cacheManager.getCache(nombre);
+    if (cache == null) {
+      return;
+    }
+    if (id == null) {
+      cache.clear();
+    } else {
+      cache.evict(id);
+      cache.evict("existe:" + id);
+    }
+  }
+}
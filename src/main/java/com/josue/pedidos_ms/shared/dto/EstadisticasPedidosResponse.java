@@ -0,0 +1,24 @@
+package com.josue.pedidos_ms.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * DTO con los recuentos agregados de pedidos.
+ */
+public record EstadisticasPedidosResponse(
+    @JsonProperty("total") long total,
+
+    @JsonProperty("porEstado") Map<String, Long> porEstado,
+
+    @JsonProperty("porZona") Map<String, Long> porZona,
+
+    @JsonProperty("porFechaEntrega") Map<LocalDate, Long> porFechaEntrega,
+
+    @JsonProperty("conflictosRefrigeracion") long conflictosRefrigeracion,
+
+    @JsonProperty("reconstruidas") Instant reconstruidas) {
+}
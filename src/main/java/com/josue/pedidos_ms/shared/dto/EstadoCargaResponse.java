@@ -0,0 +1,31 @@
+package com.josue.pedidos_ms.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+/**
+ * DTO con el estado de una carga asíncrona.
+ * Incluye el avance parcial y, al finalizar, el resultado completo.
+ */
+public record EstadoCargaResponse(
+    @JsonProperty("id") String id,
+
+    @JsonProperty("estado") String estado,
+
+    @JsonProperty("archivo") String archivo,
+
+    @JsonProperty("filasLeidas") long filasLeidas,
+
+    @JsonProperty("filasValidadas") long filasValidadas,
+
+    @JsonProperty("filasGuardadas") long filasGuardadas,
+
+    @JsonProperty("errores") long errores,
+
+    @JsonProperty("creada") Instant creada,
+
+    @JsonProperty("finalizada") Instant finalizada,
+
+    @JsonProperty("resultado") ResultadoCargaResponse resultado) {
+}
@@ -0,0 +1,16 @@
+package com.josue.pedidos_ms.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO con una página de pedidos ordenados por fecha de entrega y número.
+ * {@code siguiente} es el cursor a enviar para obtener la página siguiente, o
+ * null si no hay más.
+ */
+public record PaginaPedidosResponse(
+    @JsonProperty("pedidos") List<PedidoResumen> pedidos,
+
+    @JsonProperty("siguiente") String siguiente) {
+}
@@ -0,0 +1,24 @@
+package com.josue.pedidos_ms.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de un pedido para las consultas: solo columnas de la tabla
+ * {@code pedido}, con cliente y zona como IDs, sin cargar sus entidades.
+ */
+public record PedidoResumen(
+    @JsonProperty("numeroPedido") String numeroPedido,
+
+    @JsonProperty("clienteId") String clienteId,
+
+    @JsonProperty("fechaEntrega") LocalDate fechaEntrega,
+
+    @JsonProperty("estado") EstadoPedido estado,
+
+    @JsonProperty("zonaEntrega") String zonaEntrega,
+
+    @JsonProperty("requiereRefrigeracion") boolean requiereRefrigeracion) {
+}
@@ -17,7 +17,28 @@ public record ResultadoCargaResponse(
 
     @JsonProperty("requestId") String requestId,
 
-    @JsonProperty("tiempoProcesamiento") long tiempoProcesamiento) {
+    @JsonProperty("tiempoProcesamiento") long tiempoProcesamiento,
+
+    @JsonProperty("commits") List<CommitLote> commits,
+
+    @JsonProperty("totalErrores") int totalErrores) {
+
+  /**
+   * Constructor para respuestas cuyo detalle de errores está completo
+   */
+  public ResultadoCargaResponse(int totalRegistros, int registrosGuardados, List<ErrorDetalle> errores,
+      String requestId, long tiempoProcesamiento, List<CommitLote> commits) {
+    this(totalRegistros, registrosGuardados, errores, requestId, tiempoProcesamiento, commits,
+        errores == null ? 0 : errores.size());
+  }
+
+  /**
+   * Constructor sin detalle de commits (cargas que no llegaron a persistir)
+   */
+  public ResultadoCargaResponse(int totalRegistros, int registrosGuardados, List<ErrorDetalle> errores,
+      String requestId, long tiempoProcesamiento) {
+    this(totalRegistros, registrosGuardados, errores, requestId, tiempoProcesamiento, List.of());
+  }
 
   /**
    * Constructor sin información de request (para errores tempranos)
@@ -45,4 +66,23 @@ public record ResultadoCargaResponse(
 
       @JsonProperty("tipo") String tipo) {
   }
+
+  /**
+   * DTO para cada bloque de pedidos válidos persistido en su propia
+   * transacción. Las líneas son las del primer y último pedido del bloque.
+   */
+  public record CommitLote(
+      @JsonProperty("numero") int numero,
+
+      @JsonProperty("lineaInicial") int lineaInicial,
+
+      @JsonProperty("lineaFinal") int lineaFinal,
+
+      @JsonProperty("registros") int registros,
+
+      @JsonProperty("estado") String estado) {
+
+    public static final String CONFIRMADO = "CONFIRMADO";
+    public static final String REVERTIDO = "REVERTIDO";
+  }
 }
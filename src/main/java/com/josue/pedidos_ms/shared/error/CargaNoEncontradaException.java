@@ -0,0 +1,13 @@
+package com.josue.pedidos_ms.shared.error;
+
+/**
+ * Excepción lanzada cuando se consulta una carga asíncrona que no existe o
+ * cuyo estado ya expiró.
+ * Resulta en un HTTP 404 NOT_FOUND.
+ */
+public class CargaNoEncontradaException extends RuntimeException {
+
+  public CargaNoEncontradaException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,13 @@
+package com.josue.pedidos_ms.shared.error;
+
+/**
+ * Excepción lanzada cuando no hay capacidad para aceptar una nueva carga
+ * asíncrona.
+ * Resulta en un HTTP 503 SERVICE_UNAVAILABLE.
+ */
+public class CargaRechazadaException extends RuntimeException {
+
+  public CargaRechazadaException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
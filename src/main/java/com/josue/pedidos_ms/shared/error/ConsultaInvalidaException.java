@@ -0,0 +1,17 @@
+package com.josue.pedidos_ms.shared.error;
+
+/**
+ * Excepción lanzada cuando los parámetros de una consulta de pedidos no son
+ * válidos (cursor corrupto, rango de fechas invertido, etc.).
+ * Resulta en un HTTP 400 BAD_REQUEST.
+ */
+public class ConsultaInvalidaException extends RuntimeException {
+
+  public ConsultaInvalidaException(String message) {
+    super(message);
+  }
+
+  public ConsultaInvalidaException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -2,14 +2,35 @@ package com.josue.pedidos_ms.shared.logging;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Clase base que proporciona un logger configurado para cualquier clase que la
  * extienda.
  * Incluye métodos de conveniencia para logging estructurado con eventos.
+ *
+ * Los métodos con evento comprueban el nivel antes de hacer nada, así que una
+ * llamada a un nivel deshabilitado no crea arrays ni concatena texto. Las
+ * sobrecargas de uno a tres argumentos evitan además el array de varargs. El
+ * evento viaja como el par clave-valor {@value #CLAVE_EVENTO} para los
+ * encoders estructurados y como prefijo {@code [EVENTO]} del mensaje.
+ * Como en SLF4J, un último argumento {@link Throwable} se registra como causa.
  */
 public abstract class BaseLogger {
 
+  /**
+   * Clave con la que se adjunta el evento a cada registro.
+   */
+  public static final String CLAVE_EVENTO = "evento";
+
+  // Plantillas "[EVENTO] mensaje" por evento y mensaje. Los mensajes son
+  // literales de cada llamada, pero se limita el tamaño por si alguno no lo es
+  private static final int MAX_PLANTILLAS_POR_EVENTO = 512;
+  private static final Map<String, Map<String, String>> PLANTILLAS = new ConcurrentHashMap<>();
+
   /**
    * Logger configurado automáticamente con el nombre de la clase que extiende
    * BaseLogger.
@@ -18,7 +39,7 @@ public abstract class BaseLogger {
 
   /**
    * Registra un mensaje de información.
-   * 
+   *
    * @param mensaje Mensaje con placeholders {}
    * @param args    Argumentos para los placeholders
    */
@@ -28,7 +49,7 @@ public abstract class BaseLogger {
 
   /**
    * Registra un mensaje de advertencia.
-   * 
+   *
    * @param mensaje Mensaje con placeholders {}
    * @param args    Argumentos para los placeholders
    */
@@ -38,7 +59,7 @@ public abstract class BaseLogger {
 
   /**
    * Registra un mensaje de debug.
-   * 
+   *
    * @param mensaje Mensaje con placeholders {}
    * @param args    Argumentos para los placeholders
    */
@@ -48,7 +69,7 @@ public abstract class BaseLogger {
 
   /**
    * Registra un mensaje de error con excepción.
-   * 
+   *
    * @param mensaje   Mensaje descriptivo del error
    * @param throwable Excepción que causó el error
    */
@@ -60,62 +81,237 @@ public abstract class BaseLogger {
 
   /**
    * Registra un mensaje de información con evento.
-   * 
+   *
+   * @param evento  Tipo de evento (constante de LogEvents)
+   * @param mensaje Mensaje con placeholders {}
+   */
+  protected void logInfo(String evento, String mensaje) {
+    if (logger.isInfoEnabled()) {
+      registrar(logger.atInfo(), evento, mensaje);
+    }
+  }
+
+  protected void logInfo(String evento, String mensaje, Object arg) {
+    if (logger.isInfoEnabled()) {
+      registrar(logger.atInfo(), evento, mensaje, arg);
+    }
+  }
+
+  protected void logInfo(String evento, String mensaje, Object arg1, Object arg2) {
+    if (logger.isInfoEnabled()) {
+      registrar(logger.atInfo(), evento, mensaje, arg1, arg2);
+    }
+  }
+
+  protected void logInfo(String evento, String mensaje, Object arg1, Object arg2, Object arg3) {
+    if (logger.isInfoEnabled()) {
+      registrar(logger.atInfo(), evento, mensaje, arg1, arg2, arg3);
+    }
+  }
+
+  /**
+   * Registra un mensaje de información con evento.
+   *
    * @param evento  Tipo de evento (constante de LogEvents)
    * @param mensaje Mensaje con placeholders {}
    * @param args    Argumentos para los placeholders
    */
   protected void logInfo(String evento, String mensaje, Object... args) {
-    logger.info("[{}] " + mensaje, prependEvent(evento, args));
+    if (logger.isInfoEnabled()) {
+      registrar(logger.atInfo(), evento, mensaje, args);
+    }
   }
 
   /**
    * Registra un mensaje de advertencia con evento.
-   * 
+   *
+   * @param evento  Tipo de evento (constante de LogEvents)
+   * @param mensaje Mensaje con placeholders {}
+   */
+  protected void logWarn(String evento, String mensaje) {
+    if (logger.isWarnEnabled()) {
+      registrar(logger.atWarn(), evento, mensaje);
+    }
+  }
+
+  protected void logWarn(String evento, String mensaje, Object arg) {
+    if (logger.isWarnEnabled()) {
+      registrar(logger.atWarn(), evento, mensaje, arg);
+    }
+  }
+
+  protected void logWarn(String evento, String mensaje, Object arg1, Object arg2) {
+    if (logger.isWarnEnabled()) {
+      registrar(logger.atWarn(), evento, mensaje, arg1, arg2);
+    }
+  }
+
+  protected void logWarn(String evento, String mensaje, Object arg1, Object arg2, Object arg3) {
+    if (logger.isWarnEnabled()) {
+      registrar(logger.atWarn(), evento, mensaje, arg1, arg2, arg3);
+    }
+  }
+
+  /**
+   * Registra un mensaje de advertencia con evento.
+   *
    * @param evento  Tipo de evento (constante de LogEvents)
    * @param mensaje Mensaje con placeholders {}
    * @param args    Argumentos para los placeholders
    */
   protected void logWarn(String evento, String mensaje, Object... args) {
-    logger.warn("[{}] " + mensaje, prependEvent(evento, args));
+    if (logger.isWarnEnabled()) {
+      registrar(logger.atWarn(), evento, mensaje, args);
+    }
+  }
+
+  /**
+   * Registra un mensaje de debug con evento.
+   *
+   * @param evento  Tipo de evento (constante de LogEvents)
+   * @param mensaje Mensaje con placeholders {}
+   */
+  protected void logDebug(String evento, String mensaje) {
+    if (logger.isDebugEnabled()) {
+      registrar(logger.atDebug(), evento, mensaje);
+    }
+  }
+
+  protected void logDebug(String evento, String mensaje, Object arg) {
+    if (logger.isDebugEnabled()) {
+      registrar(logger.atDebug(), evento, mensaje, arg);
+    }
+  }
+
+  protected void logDebug(String evento, String mensaje, Object arg1, Object arg2) {
+    if (logger.isDebugEnabled()) {
+      registrar(logger.atDebug(), evento, mensaje, arg1, arg2);
+    }
+  }
+
+  protected void logDebug(String evento, String mensaje, Object arg1, Object arg2, Object arg3) {
+    if (logger.isDebugEnabled()) {
+      registrar(logger.atDebug(), evento, mensaje, arg1, arg2, arg3);
+    }
   }
 
   /**
    * Registra un mensaje de debug con evento.
-   * 
+   *
    * @param evento  Tipo de evento (constante de LogEvents)
    * @param mensaje Mensaje con placeholders {}
    * @param args    Argumentos para los placeholders
    */
   protected void logDebug(String evento, String mensaje, Object... args) {
-    logger.debug("[{}] " + mensaje, prependEvent(evento, args));
+    if (logger.isDebugEnabled()) {
+      registrar(logger.atDebug(), evento, mensaje, args);
+    }
+  }
+
+  /**
+   * Registra un mensaje de error con evento.
+   *
+   * @param evento  Tipo de evento (constante de LogEvents)
+   * @param mensaje Mensaje con placeholders {}
+   */
+  protected void logError(String evento, String mensaje) {
+    if (logger.isErrorEnabled()) {
+      registrar(logger.atError(), evento, mensaje);
+    }
+  }
+
+  protected void logError(String evento, String mensaje, Object arg) {
+    if (logger.isErrorEnabled()) {
+      registrar(logger.atError(), evento, mensaje, arg);
+    }
+  }
+
+  protected void logError(String evento, String mensaje, Object arg1, Object arg2) {
+    if (logger.isErrorEnabled()) {
+      registrar(logger.atError(), evento, mensaje, arg1, arg2);
+    }
+  }
+
+  protected void logError(String evento, String mensaje, Object arg1, Object arg2, Object arg3) {
+    if (logger.isErrorEnabled()) {
+      registrar(logger.atError(), evento, mensaje, arg1, arg2, arg3);
+    }
   }
 
   /**
    * Registra un mensaje de error con evento y excepción.
-   * 
+   *
    * @param evento  Tipo de evento (constante de LogEvents)
    * @param mensaje Mensaje con placeholders {}
    * @param args    Argumentos para los placeholders (último puede ser Throwable)
    */
   protected void logError(String evento, String mensaje, Object... args) {
-    if (args.length > 0 && args[args.length - 1] instanceof Throwable) {
-      Throwable throwable = (Throwable) args[args.length - 1];
-      Object[] messageArgs = new Object[args.length - 1];
-      System.arraycopy(args, 0, messageArgs, 0, args.length - 1);
-      logger.error("[{}] " + mensaje, prependEvent(evento, messageArgs), throwable);
+    if (logger.isErrorEnabled()) {
+      registrar(logger.atError(), evento, mensaje, args);
+    }
+  }
+
+  private static void registrar(LoggingEventBuilder builder, String evento, String mensaje) {
+    builder.addKeyValue(CLAVE_EVENTO, evento).log(plantilla(evento, mensaje));
+  }
+
+  private static void registrar(LoggingEventBuilder builder, String evento, String mensaje, Object arg) {
+    builder.addKeyValue(CLAVE_EVENTO, evento);
+    if (arg instanceof Throwable causa) {
+      builder.setCause(causa).log(plantilla(evento, mensaje));
     } else {
-      logger.error("[{}] " + mensaje, prependEvent(evento, args));
+      builder.log(plantilla(evento, mensaje), arg);
+    }
+  }
+
+  private static void registrar(LoggingEventBuilder builder, String evento, String mensaje, Object arg1,
+      Object arg2) {
+    builder.addKeyValue(CLAVE_EVENTO, evento);
+    if (arg2 instanceof Throwable causa) {
+      builder.setCause(causa).log(plantilla(evento, mensaje), arg1);
+    } else {
+      builder.log(plantilla(evento, mensaje), arg1, arg2);
+    }
+  }
+
+  private static void registrar(LoggingEventBuilder builder, String evento, String mensaje, Object arg1,
+      Object arg2, Object arg3) {
+    builder.addKeyValue(CLAVE_EVENTO, evento);
+    if (arg3 instanceof Throwable causa) {
+      builder.setCause(causa).log(plantilla(evento, mensaje), arg1, arg2);
+    } else {
+      builder.log(plantilla(evento, mensaje), arg1, arg2, arg3);
+    }
+  }
+
+  private static void registrar(LoggingEventBuilder builder, String evento, String mensaje, Object[] args) {
+    builder.addKeyValue(CLAVE_EVENTO, evento);
+    int ultimo = args.length - 1;
+    if (ultimo >= 0 && args[ultimo] instanceof Throwable causa) {
+      Object[] argumentos = new Object[ultimo];
+      System.arraycopy(args, 0, argumentos, 0, ultimo);
+      builder.setCause(causa).log(plantilla(evento, mensaje), argumentos);
+    } else {
+      builder.log(plantilla(evento, mensaje), args);
     }
   }
 
   /**
-   * Utilidad para agregar el evento como primer parámetro.
+   * @return El mensaje con el prefijo {@code [EVENTO]}, construido una vez por
+   *         combinación de evento y mensaje
    */
-  private Object[] prependEvent(String evento, Object[] args) {
-    Object[] result = new Object[args.length + 1];
-    result[0] = evento;
-    System.arraycopy(args, 0, result, 1, args.length);
-    return result;
+  static String plantilla(String evento, String mensaje) {
+    if (evento == null || mensaje == null) {
+      return "[" + evento + "] " + mensaje;
+    }
+    Map<String, String> porMensaje = PLANTILLAS.computeIfAbsent(evento, e -> new ConcurrentHashMap<>());
+    String plantilla = porMensaje.get(mensaje);
+    if (plantilla == null) {
+      plantilla = "[" + evento + "] " + mensaje;
+      if (porMensaje.size() < MAX_PLANTILLAS_POR_EVENTO) {
+        porMensaje.putIfAbsent(mensaje, plantilla);
+      }
+    }
+    return plantilla;
   }
 }
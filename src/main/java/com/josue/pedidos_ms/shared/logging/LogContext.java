@@ -2,22 +2,64 @@ package com.josue.pedidos_ms.shared.logging;
 
 import org.slf4j.MDC;
 
+import java.util.concurrent.Callable;
+
 /**
  * Utilidades para manejo de contexto en logs usando MDC (Mapped Diagnostic
  * Context).
  * Permite agregar información contextual (como número de pedido) a todos los
  * logs
  * del thread actual automáticamente.
+ *
+ * El MDC es propio de cada hilo. Para que las tareas de los ejecutores de
+ * carga conserven la correlación con la petición, {@link #envolver} captura el
+ * contexto del hilo que envía la tarea y lo instala en el hilo que la ejecuta,
+ * dejando al terminar el que ese hilo tenía. Solo se copian las claves de esta
+ * clase, sin duplicar el mapa completo del MDC.
  */
 public class LogContext {
 
+  private static final String SOLICITUD_KEY = "solicitud";
+  private static final String ARCHIVO_KEY = "archivo";
+  private static final String LINEAS_KEY = "lineas";
   private static final String PEDIDO_KEY = "pedido";
   private static final String OPERACION_KEY = "operacion";
 
+  private static final Contexto VACIO = new Contexto(null, null, null, null, null);
+
+  /**
+   * Establece el identificador de la petición en el contexto de logging.
+   *
+   * @param solicitud Identificador de la petición o de la carga
+   */
+  public static void setSolicitud(String solicitud) {
+    MDC.put(SOLICITUD_KEY, solicitud);
+  }
+
+  /**
+   * Establece el archivo que se está cargando en el contexto de logging.
+   *
+   * @param archivo Nombre del archivo
+   */
+  public static void setArchivo(String archivo) {
+    MDC.put(ARCHIVO_KEY, archivo);
+  }
+
+  /**
+   * Establece el rango de líneas del archivo en proceso, como
+   * {@code desde-hasta}.
+   *
+   * @param desde Primera línea del rango
+   * @param hasta Última línea del rango
+   */
+  public static void setLineas(int desde, int hasta) {
+    MDC.put(LINEAS_KEY, desde + "-" + hasta);
+  }
+
   /**
    * Establece el número de pedido en el contexto de logging.
    * Todos los logs subsecuentes mostrarán este número automáticamente.
-   * 
+   *
    * @param numeroPedido El número del pedido a agregar al contexto
    */
   public static void setPedido(String numeroPedido) {
@@ -26,7 +68,7 @@ public class LogContext {
 
   /**
    * Establece la operación actual en el contexto de logging.
-   * 
+   *
    * @param operacion Nombre de la operación (ej: "CARGA_CSV", "VALIDACION")
    */
   public static void setOperacion(String operacion) {
@@ -34,17 +76,18 @@ public class LogContext {
   }
 
   /**
-   * Limpia todo el contexto de logging.
-   * Debe llamarse al final de cada operación para evitar contaminar otros
-   * threads.
+   * Limpia las claves de esta clase del contexto de logging, sin tocar las que
+   * hayan puesto otros componentes.
+   * Dentro de una operación anidada se debe usar {@link #abrir()}, que deja el
+   * contexto exterior como estaba en lugar de vaciarlo.
    */
   public static void clear() {
-    MDC.clear();
+    VACIO.instalar();
   }
 
   /**
    * Obtiene el número de pedido actual del contexto.
-   * 
+   *
    * @return El número de pedido o null si no está establecido
    */
   public static String getPedido() {
@@ -52,17 +95,123 @@ public class LogContext {
   }
 
   /**
-   * Ejecuta una operación con contexto de pedido y la limpia automáticamente.
-   * 
+   * Ejecuta una operación con contexto de pedido y restaura después el contexto
+   * anterior.
+   *
    * @param numeroPedido Número del pedido
    * @param operacion    Operación a ejecutar
    */
   public static void withPedido(String numeroPedido, Runnable operacion) {
-    try {
+    try (Ambito ambito = abrir()) {
       setPedido(numeroPedido);
       operacion.run();
-    } finally {
-      clear();
+    }
+  }
+
+  /**
+   * Abre un ámbito de logging: lo que se establezca dentro se descarta al
+   * cerrarlo y el hilo vuelve al contexto que tenía al abrirlo.
+   *
+   * @return Ámbito a cerrar con try-with-resources
+   */
+  public static Ambito abrir() {
+    return new Ambito(capturar());
+  }
+
+  /**
+   * @return Instantánea inmutable del contexto del hilo actual
+   */
+  public static Contexto capturar() {
+    return new Contexto(
+        MDC.get(SOLICITUD_KEY),
+        MDC.get(ARCHIVO_KEY),
+        MDC.get(LINEAS_KEY),
+        MDC.get(PEDIDO_KEY),
+        MDC.get(OPERACION_KEY));
+  }
+
+  /**
+   * Envuelve una tarea para que se ejecute con el contexto del hilo actual.
+   * Se puede usar como {@code TaskDecorator} de Spring.
+   *
+   * @param tarea Tarea a enviar a un ejecutor
+   * @return Tarea que instala el contexto capturado mientras se ejecuta
+   */
+  public static Runnable envolver(Runnable tarea) {
+    Contexto contexto = capturar();
+    return () -> {
+      try (Ambito ambito = contexto.restaurar()) {
+        tarea.run();
+      }
+    };
+  }
+
+  /**
+   * Envuelve una tarea para que se ejecute con el contexto del hilo actual.
+   *
+   * @param tarea Tarea a enviar a un ejecutor
+   * @return Tarea que instala el contexto capturado mientras se ejecuta
+   */
+  public static <V> Callable<V> envolver(Callable<V> tarea) {
+    Contexto contexto = capturar();
+    return () -> {
+      try (Ambito ambito = contexto.restaurar()) {
+        return tarea.call();
+      }
+    };
+  }
+
+  private static void poner(String clave, String valor) {
+    if (valor == null) {
+      MDC.remove(clave);
+    } else {
+      MDC.put(clave, valor);
+    }
+  }
+
+  /**
+   * Valores de contexto capturados en un hilo para instalarlos en otro.
+   */
+  public record Contexto(String solicitud, String archivo, String lineas, String pedido, String operacion) {
+
+    /**
+     * Instala este contexto en el hilo actual.
+     *
+     * @return Ámbito que, al cerrarse, devuelve el hilo a su contexto anterior
+     */
+    public Ambito restaurar() {
+      Ambito ambito = new Ambito(capturar());
+      instalar();
+      return ambito;
+    }
+
+    private void instalar() {
+      poner(SOLICITUD_KEY, solicitud);
+      poner(ARCHIVO_KEY, archivo);
+      poner(LINEAS_KEY, lineas);
+      poner(PEDIDO_KEY, pedido);
+      poner(OPERACION_KEY, operacion);
+    }
+  }
+
+  /**
+   * Ámbito de logging abierto con {@link #abrir()} o
+   * {@link Contexto#restaurar()}.
+   */
+  public static final class Ambito implements AutoCloseable {
+
+    private final Contexto anterior;
+
+    private Ambito(Contexto anterior) {
+      this.anterior = anterior;
+    }
+
+    /**
+     * Devuelve el hilo al contexto que tenía al abrir el ámbito.
+     */
+    @Override
+    public void close() {
+      anterior.instalar();
     }
   }
 }
@@ -23,13 +23,20 @@ public class LogEvents {
   public static final String CLIENTE_CREADO = "CLIENTE_CREADO";
   public static final String ZONA_CREADA = "ZONA_CREADA";
   public static final String PEDIDO_GUARDADO = "PEDIDO_GUARDADO";
+  public static final String EXPORTACION_PEDIDOS = "EXPORTACION_PEDIDOS";
 
   // Eventos de errores críticos
   public static final String ERROR_BASE_DATOS = "ERROR_BASE_DATOS";
   public static final String ERROR_SISTEMA = "ERROR_SISTEMA";
   public static final String ERROR_CONFIGURACION = "ERROR_CONFIGURACION";
 
+  // Eventos de configuración
+  public static final String CONFIGURACION_CARGA = "CONFIGURACION_CARGA";
+  public static final String REFERENCIAS_CARGADAS = "REFERENCIAS_CARGADAS";
+  public static final String INVALIDACION_CACHE = "INVALIDACION_CACHE";
+
   // Eventos de estadísticas
   public static final String RESUMEN_PROCESAMIENTO = "RESUMEN_PROCESAMIENTO";
   public static final String ESTADISTICAS_VALIDACION = "ESTADISTICAS_VALIDACION";
+  public static final String AGREGADOS_RECONSTRUIDOS = "AGREGADOS_RECONSTRUIDOS";
 }
@@ -0,0 +1,52 @@
+package com.josue.pedidos_ms.shared.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Muestreo de eventos que se repiten por fila: de cada tipo de evento se
+ * registran las primeras {@code primeros} ocurrencias y después una de cada
+ * {@code cada}. Las omitidas se cuentan para poder informarlas en el resumen.
+ *
+ * Es seguro para uso concurrente; se crea una instancia por carga.
+ */
+public final class MuestreoLog {
+
+  private final long primeros;
+  private final long cada;
+  private final Map<String, AtomicLong> ocurrencias = new ConcurrentHashMap<>();
+  private final LongAdder omitidos = new LongAdder();
+
+  /**
+   * @param primeros Ocurrencias de cada evento que siempre se registran
+   * @param cada     Tras las primeras, se registra una de cada {@code cada};
+   *                 0 o menos para no registrar ninguna más
+   */
+  public MuestreoLog(long primeros, long cada) {
+    this.primeros = primeros;
+    this.cada = cada;
+  }
+
+  /**
+   * Cuenta una ocurrencia del evento.
+   *
+   * @return true si esta ocurrencia debe registrarse
+   */
+  public boolean debeRegistrar(String evento) {
+    long ocurrencia = ocurrencias.computeIfAbsent(evento, e -> new AtomicLong()).getAndIncrement();
+    if (ocurrencia < primeros || (cada > 0 && (ocurrencia - primeros + 1) % cada == 0)) {
+      return true;
+    }
+    omitidos.increment();
+    return false;
+  }
+
+  /**
+   * @return Ocurrencias no registradas, sumando todos los eventos
+   */
+  public long omitidos() {
+    return omitidos.sum();
+  }
+}
@@ -0,0 +1,47 @@
+package com.josue.pedidos_ms.domain.service;
+
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para validar que los decodificadores de campos coinciden con
+ * java.time y rechazan los valores inválidos sin lanzar excepciones
+ */
+class DecodificadorCamposTest {
+
+  @Test
+  void debeCalcularElMismoDiaEpochQueLocalDate() {
+    LocalDate fecha = LocalDate.of(1999, 12, 31);
+    for (int i = 0; i < 40_000; i++) {
+      assertEquals(fecha.toEpochDay(), DecodificadorCampos.fecha(fecha.toString()), fecha.toString());
+      fecha = fecha.plusDays(1);
+    }
+    assertEquals(LocalDate.of(1, 1, 1).toEpochDay(), DecodificadorCampos.fecha("0001-01-01"));
+  }
+
+  @Test
+  void debeRechazarFechasInvalidas() {
+    for (String valor : new String[] { null, "", "2099-8-10", "2099/08/10", "2099-08-1a", "20990810xx",
+        "2099-13-01", "2099-00-10", "2099-08-00", "2099-04-31", "2099-02-29", "1900-02-29", "+099-08-10" }) {
+      assertEquals(DecodificadorCampos.FECHA_INVALIDA, DecodificadorCampos.fecha(valor), valor);
+    }
+    assertEquals(LocalDate.of(2096, 2, 29).toEpochDay(), DecodificadorCampos.fecha("2096-02-29"));
+    assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), DecodificadorCampos.fecha("2000-02-29"));
+  }
+
+  @Test
+  void debeDecodificarEstadoYRefrigeracionSinDistinguirMayusculas() {
+    assertEquals(EstadoPedido.PENDIENTE, DecodificadorCampos.estado("pendiente"));
+    assertEquals(EstadoPedido.ENTREGADO, DecodificadorCampos.estado("Entregado"));
+    assertNull(DecodificadorCampos.estado("PENDIENTES"));
+    assertNull(DecodificadorCampos.estado(""));
+
+    assertTrue(DecodificadorCampos.refrigeracion("TRUE"));
+    assertFalse(DecodificadorCampos.refrigeracion("false"));
+    assertFalse(DecodificadorCampos.refrigeracion("si"));
+  }
+}
@@ -0,0 +1,69 @@
+package com.josue.pedidos_ms.domain.service;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.shared.dto.PedidoCsvDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para validar que la validación en una pasada acumula los códigos de
+ * error en orden y convierte con las referencias ya resueltas
+ */
+class ValidacionPedidoTest {
+
+  private static final long HOY = LocalDate.of(2050, 1, 1).toEpochDay();
+
+  private final Cliente cliente = new Cliente("CLI-123", "Cliente Test");
+  private final Zona zona = new Zona("ZONA2", false);
+  private final ReferenciasLote referencias = new ReferenciasLote(
+      new RegistroReferencias.Instantanea(Map.of("CLI-123", cliente), Map.of()),
+      Map.of(), Map.of("ZONA2", zona), Set.of("P-EXISTENTE"));
+
+  @Test
+  void debeConvertirConLasReferenciasResueltas() {
+    ValidacionPedido validacion = validar("P001,CLI-123,2050-01-01,entregado,ZONA2,false");
+
+    assertTrue(validacion.esValida());
+    Pedido pedido = validacion.aPedido();
+    assertSame(cliente, pedido.getCliente());
+    assertSame(zona, pedido.getZonaEntrega());
+    assertEquals(LocalDate.of(2050, 1, 1), pedido.getFechaEntrega());
+    assertEquals(EstadoPedido.ENTREGADO, pedido.getEstado());
+    assertFalse(pedido.isRequiereRefrigeracion());
+  }
+
+  @Test
+  void debeAcumularLosCodigosDeErrorEnOrden() {
+    ValidacionPedido validacion = validar("P-EXISTENTE,CLI-999,2049-12-31,ANULADO,ZONA2,true");
+
+    assertFalse(validacion.esValida());
+    assertEquals(List.of(
+        ErrorValidacion.NUMERO_PEDIDO_DUPLICADO,
+        ErrorValidacion.CLIENTE_NO_ENCONTRADO,
+        ErrorValidacion.FECHA_PASADA,
+        ErrorValidacion.ESTADO_INVALIDO,
+        ErrorValidacion.ZONA_SIN_REFRIGERACION), validacion.errores());
+    assertThrows(IllegalStateException.class, validacion::aPedido);
+  }
+
+  private ValidacionPedido validar(String linea) {
+    String[] campos = linea.split(",", -1);
+    ValidacionPedido validacion = new ValidacionPedido(FilaPedido.decodificar(
+        new PedidoCsvDTO(campos[0], campos[1], campos[2], campos[3], campos[4], campos[5])));
+    new PedidoValidator().validarNumeroPedido(validacion, referencias);
+    new ClienteValidator().validarCliente(validacion, referencias);
+    new FechaValidator().validarFecha(validacion, HOY);
+    new EstadoValidator().validarEstado(validacion);
+    new ZonaValidator().validarZona(validacion, referencias);
+    return validacion;
+  }
+}
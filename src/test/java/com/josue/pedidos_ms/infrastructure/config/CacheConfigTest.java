@@ -0,0 +1,40 @@
+package com.josue.pedidos_ms.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de los límites configurables de los cachés.
+ */
+class CacheConfigTest {
+
+  @Test
+  void debeAcotarCadaCacheSegunSuEspecificacion() {
+    CachesProperties properties = new CachesProperties();
+    properties.getCaches().put("estadisticas-pedidos",
+        new CachesProperties.Especificacion(2L, null));
+
+    CacheManager cacheManager = new CacheConfig().cacheManager(properties);
+
+    var estadisticas = cacheManager.getCache("estadisticas-pedidos");
+    for (int i = 0; i < 20; i++) {
+      estadisticas.put("cliente-" + i, i);
+    }
+    Cache<?, ?> nativo = (Cache<?, ?>) estadisticas.getNativeCache();
+    nativo.cleanUp();
+
+    assertTrue(nativo.estimatedSize() <= 2, "El caché no debe superar su tamaño máximo");
+    assertTrue(nativo.stats().evictionCount() > 0, "Los desalojos deben quedar registrados");
+    // La expiración no declarada se hereda de los valores por defecto
+    assertTrue(nativo.policy().refreshAfterWrite().isEmpty());
+    assertEquals(Duration.ofMinutes(10), nativo.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+
+    Cache<?, ?> zonas = (Cache<?, ?>) cacheManager.getCache("zonas").getNativeCache();
+    assertEquals(1000L, zonas.policy().eviction().orElseThrow().getMaximum());
+  }
+}
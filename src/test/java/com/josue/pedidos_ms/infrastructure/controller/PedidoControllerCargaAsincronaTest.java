@@ -0,0 +1,85 @@
+package com.josue.pedidos_ms.infrastructure.controller;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.infrastructure.repository.ClienteRepository;
+import com.josue.pedidos_ms.infrastructure.repository.ZonaRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PedidoControllerCargaAsincronaTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ClienteRepository clienteRepository;
+
+  @Autowired
+  private ZonaRepository zonaRepository;
+
+  @BeforeEach
+  void setUp() {
+    // Insertar datos en H2 para las validaciones
+    clienteRepository.save(new Cliente("CLI-123", "Test Cliente"));
+    zonaRepository.save(new Zona("ZONA1", true));
+  }
+
+  @Test
+  void debeRetornar202YPermitirConsultarElResultado() throws Exception {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "PA-001,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "PA-002,CLI-INEXISTENTE,2099-08-10,PENDIENTE,ZONA1,true\n";
+
+    MockMultipartFile file = new MockMultipartFile(
+        "file", "pedidos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+    String respuesta = mockMvc.perform(multipart("/pedidos/cargar/async").file(file))
+        .andExpect(status().isAccepted()) // 202 ACCEPTED
+        .andExpect(header().exists("Location"))
+        .andExpect(jsonPath("$.id").exists())
+        .andReturn().getResponse().getContentAsString();
+    String id = JsonPath.read(respuesta, "$.id");
+
+    // Esperar a que la carga termine en segundo plano
+    String estado = "EN_COLA";
+    for (int intento = 0; intento < 100 && !estado.equals("COMPLETADA"); intento++) {
+      Thread.sleep(50);
+      estado = JsonPath.read(mockMvc.perform(get("/pedidos/cargas/{id}", id))
+          .andExpect(status().isOk())
+          .andReturn().getResponse().getContentAsString(), "$.estado");
+    }
+    assertEquals("COMPLETADA", estado);
+
+    mockMvc.perform(get("/pedidos/cargas/{id}", id))
+        .andExpect(jsonPath("$.filasLeidas").value(2))
+        .andExpect(jsonPath("$.filasGuardadas").value(1))
+        .andExpect(jsonPath("$.errores").value(1))
+        .andExpect(jsonPath("$.resultado.totalRegistros").value(2))
+        .andExpect(jsonPath("$.resultado.registrosGuardados").value(1));
+  }
+
+  @Test
+  void debeRetornar404CuandoLaCargaNoExiste() throws Exception {
+    mockMvc.perform(get("/pedidos/cargas/{id}", "inexistente"))
+        .andExpect(status().isNotFound()) // 404 NOT_FOUND
+        .andExpect(jsonPath("$.errores[0].tipo").value("CARGA_NO_ENCONTRADA"));
+  }
+}
@@ -4,22 +4,32 @@ import com.josue.pedidos_ms.domain.model.Cliente;
 import com.josue.pedidos_ms.domain.model.Zona;
 import com.josue.pedidos_ms.infrastructure.repository.ClienteRepository;
 import com.josue.pedidos_ms.infrastructure.repository.ZonaRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @ActiveProfiles("test")
 class PedidoControllerIntegrationTest {
 
@@ -54,4 +64,122 @@ class PedidoControllerIntegrationTest {
         .andExpect(jsonPath("$.registrosGuardados").value(1))
         .andExpect(jsonPath("$.errores").isEmpty());
   }
+
+  @Test
+  void prometheusDebeExponerLasMetricasDeLaCarga() throws Exception {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "PROM-1,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "PROM-2,CLI-123,2000-01-01,PENDIENTE,ZONA1,true\n";
+
+    mockMvc.perform(multipart("/pedidos/cargar")
+        .file(new MockMultipartFile("file", "pedidos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("pedidos_carga_filas_total{resultado=\"guardada\"}")))
+        .andExpect(content().string(containsString(
+            "pedidos_carga_validador_filas_total{resultado=\"rechazada\",validador=\"fecha\"}")))
+        .andExpect(content().string(containsString("pedidos_carga_duracion_seconds_bucket")))
+        .andExpect(content().string(containsString("pedidos_carga_activas 0.0")));
+  }
+
+  @Test
+  void estadisticasDebenReflejarLosPedidosConfirmadosSinReconsultar() throws Exception {
+    String antes = mockMvc.perform(get("/pedidos/estadisticas"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "PE-001,CLI-123,2099-09-01,ENTREGADO,ZONA-SECA,false\n" +
+        "PE-002,CLI-123,2099-09-01,ENTREGADO,ZONA1,true\n";
+    zonaRepository.save(new Zona("ZONA-SECA", false));
+    mockMvc.perform(multipart("/pedidos/cargar")
+        .file(new MockMultipartFile("file", "pedidos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.registrosGuardados").value(2));
+
+    String despues = mockMvc.perform(get("/pedidos/estadisticas"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    assertEquals(contador(antes, "$.total") + 2, contador(despues, "$.total"));
+    assertEquals(contador(antes, "$.porEstado.ENTREGADO") + 2, contador(despues, "$.porEstado.ENTREGADO"));
+    assertEquals(1, contador(despues, "$.porZona['ZONA-SECA']"));
+    assertEquals(2, contador(despues, "$.porFechaEntrega['2099-09-01']"));
+    // La validación rechaza los conflictos de refrigeración: el recuento no cambia
+    assertEquals(contador(antes, "$.conflictosRefrigeracion"), contador(despues, "$.conflictosRefrigeracion"));
+  }
+
+  private static long contador(String json, String ruta) {
+    return ((Number) JsonPath.read(json, ruta)).longValue();
+  }
+
+  @Test
+  void consultaPorClienteDebeRecorrerTodasLasPaginasConElCursor() throws Exception {
+    clienteRepository.save(new Cliente("CLI-PAG", "Cliente Paginado"));
+    StringBuilder csv = new StringBuilder(
+        "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n");
+    for (int i = 1; i <= 5; i++) {
+      csv.append("PG-00").append(i).append(",CLI-PAG,2099-10-0").append(6 - i).append(",PENDIENTE,ZONA1,false\n");
+    }
+    mockMvc.perform(multipart("/pedidos/cargar").file(
+        new MockMultipartFile("file", "pedidos.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8))))
+        .andExpect(status().isOk());
+
+    String primera = mockMvc.perform(get("/pedidos/cliente/CLI-PAG").param("tamano", "3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.pedidos.length()").value(3))
+        .andExpect(jsonPath("$.pedidos[0].numeroPedido").value("PG-005"))
+        .andExpect(jsonPath("$.pedidos[0].clienteId").value("CLI-PAG"))
+        .andExpect(jsonPath("$.siguiente").isNotEmpty())
+        .andReturn().getResponse().getContentAsString();
+
+    mockMvc.perform(get("/pedidos/cliente/CLI-PAG").param("tamano", "3")
+        .param("cursor", JsonPath.<String>read(primera, "$.siguiente")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.pedidos.length()").value(2))
+        .andExpect(jsonPath("$.pedidos[1].numeroPedido").value("PG-001"))
+        .andExpect(jsonPath("$.siguiente").doesNotExist());
+
+    mockMvc.perform(get("/pedidos/cliente/CLI-PAG").param("cursor", "no-es-un-cursor"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errores[0].tipo").value("CONSULTA_INVALIDA"));
+  }
+
+  @Test
+  void exportDebeDevolverElCsvFiltradoYComprimido() throws Exception {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "PX-002,CLI-123,2099-11-02,CONFIRMADO,ZONA1,true\n" +
+        "PX-001,CLI-123,2099-11-01,CONFIRMADO,ZONA1,false\n" +
+        "PX-003,CLI-123,2099-11-01,PENDIENTE,ZONA1,false\n" +
+        "PX-004,CLI-123,2099-11-05,CONFIRMADO,ZONA1,false\n";
+    mockMvc.perform(multipart("/pedidos/cargar")
+        .file(new MockMultipartFile("file", "pedidos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))))
+        .andExpect(status().isOk());
+
+    MvcResult inicio = mockMvc.perform(get("/pedidos/export")
+        .param("estado", "CONFIRMADO")
+        .param("desde", "2099-11-01")
+        .param("hasta", "2099-11-02")
+        .param("gzip", "true"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    byte[] cuerpo = mockMvc.perform(asyncDispatch(inicio))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Encoding", "gzip"))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    String exportado;
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(cuerpo))) {
+      exportado = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    // Mismo formato que la carga, ordenado por fecha de entrega y número
+    assertEquals("numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "PX-001,CLI-123,2099-11-01,CONFIRMADO,ZONA1,false\n" +
+        "PX-002,CLI-123,2099-11-02,CONFIRMADO,ZONA1,true\n", exportado);
+
+    mockMvc.perform(get("/pedidos/export").param("desde", "2099-11-01"))
+        .andExpect(status().isBadRequest());
+  }
 }
@@ -0,0 +1,73 @@
+package com.josue.pedidos_ms.infrastructure.csv;
+
+import com.josue.pedidos_ms.shared.error.CsvValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para validar que el tokenizador de bytes produce los mismos registros
+ * que el parser OpenCSV
+ */
+class TokenizadorCsvTest {
+
+  @Test
+  void debeProducirLosMismosCamposQueOpenCsv() {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\r\n" +
+        " P002 ,\"CLI, 999\",2099-08-11,\"CON\"\"FIRMADO\",ZONA5,false\n" +
+        "\n" +
+        "P003,\"CLI\n123\",2099-08-12,PENDIENTE,ZÓNA1,true\n" +
+        "P004,CLI-123\n" +
+        "P005,\"CLI\\\"X\",2099-08-12,PENDIENTE,ZONA1,true";
+
+    assertEquals(leer(new OpenCsvParser(), csv), leer(new BytesCsvParser(), csv));
+  }
+
+  @Test
+  void debeNumerarRegistrosConOffsetInicial() {
+    ByteBuffer buffer = ByteBuffer.wrap("A,B\nC,\"D\nE\"\nF\n".getBytes(StandardCharsets.UTF_8));
+    TokenizadorCsv tokenizador = new TokenizadorCsv(buffer, 10);
+
+    assertEquals(11, tokenizador.siguiente().linea());
+    FilaCsv multilinea = tokenizador.siguiente().fijar();
+    assertEquals(13, tokenizador.siguiente().linea());
+    assertNull(tokenizador.siguiente());
+
+    // La copia fijada no se altera al avanzar el tokenizador
+    assertEquals(12, multilinea.linea());
+    assertEquals("D\nE", multilinea.campo(1));
+  }
+
+  @Test
+  void debeRechazarComillasSinCerrar() {
+    TokenizadorCsv tokenizador = new TokenizadorCsv(
+        ByteBuffer.wrap("numeroPedido\n\"P001,CLI-123\n".getBytes(StandardCharsets.UTF_8)));
+
+    assertNotNull(tokenizador.siguiente());
+    assertThrows(CsvValidationException.class, tokenizador::siguiente);
+  }
+
+  private List<String> leer(ParserCsv parser, String csv) {
+    List<String> registros = new ArrayList<>();
+    MockMultipartFile file = new MockMultipartFile(
+        "file", "pedidos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+    try (ArchivoCsv archivo = ArchivoCsv.de(file); LectorCsv lector = parser.abrir(archivo)) {
+      FilaCsv fila;
+      while ((fila = lector.siguiente()) != null) {
+        List<String> campos = new ArrayList<>();
+        for (int i = 0; i < fila.numeroCampos(); i++) {
+          campos.add(fila.campo(i));
+        }
+        registros.add(fila.linea() + ":" + campos);
+      }
+    }
+    return registros;
+  }
+}
@@ -9,6 +9,7 @@ import com.josue.pedidos_ms.infrastructure.repository.ZonaRepository;
 import com.josue.pedidos_ms.infrastructure.repository.PedidoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.CacheManager;
@@ -39,6 +40,9 @@ class CacheAndIndexPerformanceTest {
   @Autowired
   private CacheManager cacheManager;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   private Cliente cliente1;
   private Zona zona1;
   private Pedido pedido1;
@@ -96,11 +100,15 @@ class CacheAndIndexPerformanceTest {
     // Verificar caché
     var cache = cacheManager.getCache("clientes");
     assertNotNull(cache, "Cache 'clientes' debe existir");
-    assertNotNull(cache.get("CLI-CACHE-001"), "Cliente debe estar en caché");
+    assertNotNull(cache.get("existe:CLI-CACHE-001"), "Existencia del cliente debe estar en caché");
 
     // Segunda consulta (del caché)
     boolean existe2 = clienteRepository.existsCliente("CLI-CACHE-001");
     assertTrue(existe2);
+
+    // buscarCliente comparte caché pero no clave: no recibe el Boolean cacheado
+    Optional<Cliente> cliente = clienteRepository.buscarCliente("CLI-CACHE-001");
+    assertTrue(cliente.isPresent());
   }
 
   @Test
@@ -174,6 +182,22 @@ class CacheAndIndexPerformanceTest {
     assertEquals(conflictos1, conflictos2);
   }
 
+  @Test
+  void debeRegistrarEstadisticasYPublicarlasComoMetricas() {
+    double aciertosPrevios = meterRegistry.get("cache.gets")
+        .tags("cache", "zonas", "result", "hit").functionCounter().count();
+
+    zonaRepository.buscarZona("ZONA-CACHE-A");
+    zonaRepository.buscarZona("ZONA-CACHE-A");
+
+    var nativo = (com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache("zonas").getNativeCache();
+    assertTrue(nativo.stats().hitCount() >= 1, "Caffeine debe registrar aciertos");
+    assertTrue(meterRegistry.get("cache.gets")
+        .tags("cache", "zonas", "result", "hit").functionCounter().count() > aciertosPrevios,
+        "Los aciertos deben publicarse como métrica de Actuator");
+    assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "estadisticas-pedidos").functionCounter());
+  }
+
   @Test
   void noDebeCachearExistenciaDePedidos() {
     // Las consultas de existencia NO deben usar caché (datos dinámicos)
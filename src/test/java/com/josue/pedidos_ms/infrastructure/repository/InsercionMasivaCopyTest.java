@@ -0,0 +1,160 @@
+package com.josue.pedidos_ms.infrastructure.repository;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.infrastructure.config.CargaProperties;
+import com.josue.pedidos_ms.infrastructure.config.InsercionMasivaConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Formato de las filas enviadas con COPY y uso del {@code CopyManager} del
+ * driver, simulado: el COPY real requiere PostgreSQL.
+ */
+class InsercionMasivaCopyTest {
+
+  private DataSource dataSource;
+  private Connection conexion;
+  private EntityManager entityManager;
+  private CopyManager copyManager;
+  private CopyIn copyIn;
+  private final ByteArrayOutputStream enviado = new ByteArrayOutputStream();
+  private int envios;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    dataSource = mock(DataSource.class);
+    conexion = mock(Connection.class);
+    entityManager = mock(EntityManager.class);
+    copyManager = mock(CopyManager.class);
+    copyIn = mock(CopyIn.class);
+    PGConnection postgres = mock(PGConnection.class);
+
+    when(dataSource.getConnection()).thenReturn(conexion);
+    when(conexion.unwrap(PGConnection.class)).thenReturn(postgres);
+    when(postgres.getCopyAPI()).thenReturn(copyManager);
+    when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+    doAnswer(invocation -> {
+      enviado.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+      envios++;
+      return null;
+    }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+  }
+
+  @Test
+  void debeEscribirFilasCsvEnElOrdenDeLasColumnas() {
+    Pedido pedido = Pedido.builder()
+        .numeroPedido("P\"1,2")
+        .cliente(new Cliente("CLI-123", "Cliente"))
+        .fechaEntrega(LocalDate.of(2099, 8, 10))
+        .estado(EstadoPedido.CONFIRMADO)
+        .zonaEntrega(new Zona("ZONA1", true))
+        .requiereRefrigeracion(false)
+        .build();
+
+    StringBuilder fila = new StringBuilder();
+    InsercionMasivaCopy.escribirFila(pedido, fila);
+
+    assertEquals("\"P\"\"1,2\",\"CLI-123\",2099-08-10,CONFIRMADO,\"ZONA1\",false\n", fila.toString());
+  }
+
+  @Test
+  void debeEnviarLosPedidosEnUnCopyPorBloquesYDevolverLasFilasCopiadas() throws SQLException {
+    // Suficientes filas para superar varias veces el tamaño de bloque
+    List<Pedido> pedidos = pedidos(3_000);
+    when(copyIn.endCopy()).thenReturn(3_000L);
+
+    int guardados = new InsercionMasivaCopy(dataSource, entityManager).insertar(pedidos);
+
+    assertEquals(3_000, guardados);
+    verify(entityManager).flush();
+    verify(copyManager).copyIn(
+        "COPY " + InsercionMasivaPedidos.TABLA_COLUMNAS + " FROM STDIN WITH (FORMAT csv)");
+    StringBuilder esperado = new StringBuilder();
+    pedidos.forEach(pedido -> InsercionMasivaCopy.escribirFila(pedido, esperado));
+    assertEquals(esperado.toString(), enviado.toString(StandardCharsets.UTF_8));
+    assertTrue(envios > 1, "las filas se envían en bloques, no de una vez");
+    // Sin transacción en curso la conexión se devuelve al pool
+    verify(conexion).close();
+  }
+
+  @Test
+  void debeCancelarElCopyYTraducirUnDuplicado() throws SQLException {
+    when(copyIn.endCopy()).thenThrow(new SQLException("duplicate key value", "23505"));
+    when(copyIn.isActive()).thenReturn(true);
+
+    InsercionMasivaCopy insercion = new InsercionMasivaCopy(dataSource, entityManager);
+
+    assertThrows(DataIntegrityViolationException.class, () -> insercion.insertar(pedidos(2)));
+    verify(copyIn).cancelCopy();
+    verify(conexion).close();
+  }
+
+  @Test
+  void debeElegirCopySobrePostgresEnModoAuto() {
+    assertInstanceOf(InsercionMasivaCopy.class,
+        elegir(new PostgreSQLDialect(), CargaProperties.EstrategiaInsercion.AUTO));
+    assertInstanceOf(InsercionMasivaJdbc.class,
+        elegir(new H2Dialect(), CargaProperties.EstrategiaInsercion.AUTO));
+    // La estrategia explícita prevalece sobre el dialecto
+    assertInstanceOf(InsercionMasivaCopy.class,
+        elegir(new H2Dialect(), CargaProperties.EstrategiaInsercion.COPY));
+  }
+
+  private InsercionMasivaPedidos elegir(Dialect dialecto, CargaProperties.EstrategiaInsercion estrategia) {
+    EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    JdbcServices jdbcServices = mock(JdbcServices.class);
+    when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+    when(sessionFactory.getJdbcServices()).thenReturn(jdbcServices);
+    when(jdbcServices.getDialect()).thenReturn(dialecto);
+
+    CargaProperties cargaProperties = new CargaProperties();
+    cargaProperties.setInsercion(estrategia);
+    return new InsercionMasivaConfig().insercionMasivaPedidos(cargaProperties, dataSource, entityManagerFactory,
+        entityManager);
+  }
+
+  private static List<Pedido> pedidos(int cantidad) {
+    Cliente cliente = new Cliente("CLI-123", "Cliente");
+    Zona zona = new Zona("ZONA1", true);
+    List<Pedido> pedidos = new ArrayList<>(cantidad);
+    for (int i = 0; i < cantidad; i++) {
+      pedidos.add(Pedido.builder()
+          .numeroPedido("PC-" + i)
+          .cliente(cliente)
+          .fechaEntrega(LocalDate.of(2099, 8, 10))
+          .estado(EstadoPedido.PENDIENTE)
+          .zonaEntrega(zona)
+          .requiereRefrigeracion(true)
+          .build());
+    }
+    return pedidos;
+  }
+}
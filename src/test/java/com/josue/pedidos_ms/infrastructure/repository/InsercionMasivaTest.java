@@ -0,0 +1,128 @@
+package com.josue.pedidos_ms.infrastructure.repository;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.infrastructure.config.CargaProperties;
+import com.josue.pedidos_ms.infrastructure.config.InsercionMasivaConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de las estrategias de inserción masiva: sin SELECT previo por fila y
+ * con INSERTs agrupados en batches JDBC.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ InsercionMasivaConfig.class, CargaProperties.class })
+class InsercionMasivaTest {
+
+  @Autowired
+  private InsercionMasivaPedidos insercionMasivaPedidos;
+
+  @Autowired
+  private ClienteRepository clienteRepository;
+
+  @Autowired
+  private ZonaRepository zonaRepository;
+
+  @Autowired
+  private PedidoRepository pedidoRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private CargaProperties cargaProperties;
+  private Cliente cliente;
+  private Zona zona;
+
+  @BeforeEach
+  void setUp() {
+    cliente = clienteRepository.save(new Cliente("CLI-BATCH", "Cliente Batch"));
+    zona = zonaRepository.save(new Zona("ZONA-BATCH", true));
+    entityManager.flush();
+    entityManager.clear();
+
+    cargaProperties = new CargaProperties();
+    cargaProperties.setTamanoBatch(10);
+  }
+
+  @Test
+  void debeElegirJdbcFueraDePostgres() {
+    assertEquals(InsercionMasivaJdbc.class, AopUtils.getTargetClass(insercionMasivaPedidos));
+  }
+
+  @Test
+  void jpaDebeInsertarSinSelectPorFilaYEnBatches() {
+    // Referencias desacopladas, como las que resuelve la validación del lote
+    List<Pedido> pedidos = pedidos("PB-", 25);
+    Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    estadisticas.clear();
+
+    assertEquals(25, new InsercionMasivaJpa(entityManager, cargaProperties).insertar(pedidos));
+
+    assertEquals(25, estadisticas.getEntityInsertCount());
+    // Ni SELECT por fila ni por referencia: un statement por batch (10 + 10 + 5)
+    assertEquals(3, estadisticas.getPrepareStatementCount());
+    assertEquals(0, estadisticas.getEntityLoadCount());
+    assertEquals(25, pedidoRepository.count());
+    // Los pedidos conservan las referencias originales
+    assertSame(cliente, pedidos.get(0).getCliente());
+    assertSame(zona, pedidos.get(24).getZonaEntrega());
+  }
+
+  @Test
+  void jdbcDebeInsertarEnBatchesYFallarAnteDuplicados() {
+    InsercionMasivaJdbc insercion = new InsercionMasivaJdbc(dataSource, entityManager, cargaProperties);
+
+    assertEquals(25, insercion.insertar(pedidos("PJ-", 25)));
+    assertEquals(25, pedidoRepository.count());
+
+    Pedido guardado = pedidoRepository.buscarPedido("PJ-7").orElseThrow();
+    assertEquals("CLI-BATCH", guardado.getCliente().getId());
+    assertEquals(EstadoPedido.PENDIENTE, guardado.getEstado());
+    assertTrue(guardado.isRequiereRefrigeracion());
+
+    assertThrows(DataIntegrityViolationException.class,
+        () -> insercion.insertar(pedidos("PJ-", 1)));
+  }
+
+  private List<Pedido> pedidos(String prefijo, int cantidad) {
+    List<Pedido> pedidos = new ArrayList<>();
+    for (int i = 0; i < cantidad; i++) {
+      pedidos.add(Pedido.builder()
+          .numeroPedido(prefijo + i)
+          .cliente(cliente)
+          .fechaEntrega(LocalDate.now().plusDays(1))
+          .estado(EstadoPedido.PENDIENTE)
+          .zonaEntrega(zona)
+          .requiereRefrigeracion(true)
+          .build());
+    }
+    return pedidos;
+  }
+}
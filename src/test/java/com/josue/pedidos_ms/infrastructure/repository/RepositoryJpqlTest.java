@@ -4,10 +4,12 @@ import com.josue.pedidos_ms.domain.model.Cliente;
 import com.josue.pedidos_ms.domain.model.Zona;
 import com.josue.pedidos_ms.domain.model.Pedido;
 import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.shared.dto.PedidoResumen;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
@@ -86,6 +88,12 @@ class RepositoryJpqlTest {
     assertFalse(noExiste.isPresent());
   }
 
+  @Test
+  void debeBuscarClientesPorIdsEnUnaConsulta() {
+    List<Cliente> clientes = clienteRepository.buscarClientesPorIds(List.of("CLI-001", "CLI-002", "CLI-999"));
+    assertEquals(2, clientes.size());
+  }
+
   @Test
   void debeBuscarTodosLosClientesOrdenados() {
     List<Cliente> clientes = clienteRepository.buscarTodosOrdenados();
@@ -111,6 +119,13 @@ class RepositoryJpqlTest {
     assertFalse(noExiste.isPresent());
   }
 
+  @Test
+  void debeBuscarZonasPorIdsEnUnaConsulta() {
+    List<Zona> zonas = zonaRepository.buscarZonasPorIds(List.of("ZONA-A", "ZONA-Z"));
+    assertEquals(1, zonas.size());
+    assertEquals("ZONA-A", zonas.get(0).getId());
+  }
+
   @Test
   void debeBuscarZonasConRefrigeracion() {
     List<Zona> zonasConRefrig = zonaRepository.buscarZonasConRefrigeracion();
@@ -136,6 +151,12 @@ class RepositoryJpqlTest {
     assertFalse(pedidoRepository.existePedido("P999"));
   }
 
+  @Test
+  void debeBuscarNumerosDePedidoExistentesEnUnaConsulta() {
+    List<String> existentes = pedidoRepository.buscarNumerosExistentes(List.of("P001", "P999"));
+    assertEquals(List.of("P001"), existentes);
+  }
+
   @Test
   void debeBuscarPedidoPorNumero() {
     Optional<Pedido> resultado = pedidoRepository.buscarPedido("P001");
@@ -199,4 +220,29 @@ class RepositoryJpqlTest {
     long conflictos = pedidoRepository.contarPedidosConConflictoRefrigeracion();
     assertEquals(1, conflictos);
   }
+
+  @Test
+  void debePaginarPorClaveSinRepetirNiSaltarPedidosConLaMismaFecha() {
+    LocalDate fecha = LocalDate.now().plusDays(5);
+    for (String numero : List.of("P013", "P011", "P014", "P010", "P012")) {
+      pedidoRepository.save(new Pedido(numero, cliente2, fecha, EstadoPedido.CONFIRMADO, zona2, false));
+    }
+
+    // P002 (fecha anterior) y después P010..P014 por número, de dos en dos
+    List<PedidoResumen> primera = pedidoRepository.paginarPorCliente(
+        "CLI-002", LocalDate.of(1, 1, 1), "", Limit.of(2));
+    PedidoResumen ultimo = primera.get(1);
+    List<PedidoResumen> segunda = pedidoRepository.paginarPorCliente(
+        "CLI-002", ultimo.fechaEntrega(), ultimo.numeroPedido(), Limit.of(2));
+    ultimo = segunda.get(1);
+    List<PedidoResumen> tercera = pedidoRepository.paginarPorCliente(
+        "CLI-002", ultimo.fechaEntrega(), ultimo.numeroPedido(), Limit.of(2));
+
+    assertEquals(List.of("P002", "P010"), primera.stream().map(PedidoResumen::numeroPedido).toList());
+    assertEquals(List.of("P011", "P012"), segunda.stream().map(PedidoResumen::numeroPedido).toList());
+    assertEquals(List.of("P013", "P014"), tercera.stream().map(PedidoResumen::numeroPedido).toList());
+    assertEquals("ZONA-B", tercera.get(0).zonaEntrega());
+    assertEquals(List.of("P012", "P013", "P014"), pedidoRepository.paginarPorEstado(
+        EstadoPedido.CONFIRMADO, fecha, "P011", Limit.of(10)).stream().map(PedidoResumen::numeroPedido).toList());
+  }
 }
@@ -0,0 +1,60 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import com.josue.pedidos_ms.application.usecase.PedidosConfirmados;
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.infrastructure.repository.PedidoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la reconstrucción de agregados con cargas confirmando bloques a la
+ * vez.
+ */
+class AgregadosPedidosTest {
+
+  private final PedidoRepository pedidoRepository = mock(PedidoRepository.class);
+  private final AgregadosPedidos agregados = new AgregadosPedidos(pedidoRepository);
+
+  @Test
+  void noDebeContarDosVecesLosBloquesConfirmadosDuranteLaReconstruccion() {
+    // A se confirma antes de la instantánea y ya está en los recuentos;
+    // B se confirma después y no lo está. Ambos eventos llegan mientras se
+    // consulta, desde otro hilo: la reconstrucción no debe bloquearlos
+    when(pedidoRepository.contarPorEstado()).thenAnswer(invocation -> {
+      CompletableFuture.runAsync(() -> {
+        agregados.alConfirmar(PedidosConfirmados.de(List.of(pedido("A1"), pedido("A2"))));
+        agregados.alConfirmar(PedidosConfirmados.de(List.of(pedido("B1"))));
+      }).get(5, TimeUnit.SECONDS);
+      return List.<Object[]>of(new Object[] { EstadoPedido.PENDIENTE, 12L });
+    });
+    when(pedidoRepository.contarPorZona()).thenReturn(List.<Object[]>of(new Object[] { "ZONA", 12L }));
+    when(pedidoRepository.contarPorFechaEntrega()).thenReturn(List.of());
+    when(pedidoRepository.buscarNumerosExistentes(anyCollection())).thenReturn(List.of("A1"));
+
+    agregados.reconstruir();
+
+    assertEquals(13, agregados.total());
+    assertEquals(13, agregados.porEstado(EstadoPedido.PENDIENTE));
+    assertEquals(13, agregados.porZona("ZONA"));
+
+    // Fuera de una reconstrucción los bloques se suman directamente
+    agregados.alConfirmar(PedidosConfirmados.de(List.of(pedido("C1"))));
+    assertEquals(14, agregados.total());
+  }
+
+  private static Pedido pedido(String numero) {
+    return new Pedido(numero, new Cliente("CLI-1", "Cliente"), LocalDate.of(2099, 1, 1),
+        EstadoPedido.PENDIENTE, new Zona("ZONA", true), false);
+  }
+}
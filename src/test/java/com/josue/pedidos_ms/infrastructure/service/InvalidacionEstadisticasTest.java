@@ -0,0 +1,55 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import com.josue.pedidos_ms.application.usecase.PedidosConfirmados;
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.domain.model.Pedido;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.infrastructure.config.CacheConfig;
+import com.josue.pedidos_ms.infrastructure.config.CachesProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del desalojo selectivo de estadísticas tras confirmar pedidos.
+ */
+class InvalidacionEstadisticasTest {
+
+  private final CacheManager cacheManager = new CacheConfig().cacheManager(new CachesProperties());
+  private final InvalidacionEstadisticas invalidacion = new InvalidacionEstadisticas(cacheManager);
+  private final Cache estadisticas = cacheManager.getCache("estadisticas-pedidos");
+
+  @Test
+  void debeDesalojarSoloLosClientesTocados() {
+    estadisticas.put("CLI-1", List.of());
+    estadisticas.put("CLI-2", List.of());
+    estadisticas.put("conflictos-refrigeracion", 0L);
+
+    invalidacion.alConfirmar(PedidosConfirmados.de(List.of(pedido("CLI-1", true, true))));
+
+    assertNull(estadisticas.get("CLI-1"));
+    assertNotNull(estadisticas.get("CLI-2"));
+    assertNotNull(estadisticas.get("conflictos-refrigeracion"), "Sin conflictos nuevos el recuento sigue vigente");
+  }
+
+  @Test
+  void debeDesalojarElRecuentoDeConflictosSiElBloqueAnadeAlguno() {
+    estadisticas.put("conflictos-refrigeracion", 0L);
+
+    invalidacion.alConfirmar(PedidosConfirmados.de(List.of(
+        pedido("CLI-1", false, false), pedido("CLI-1", true, false))));
+
+    assertNull(estadisticas.get("conflictos-refrigeracion"));
+  }
+
+  private static Pedido pedido(String clienteId, boolean requiereRefrigeracion, boolean zonaRefrigerada) {
+    return new Pedido("P-" + clienteId, new Cliente(clienteId, "Cliente"), LocalDate.of(2099, 1, 1),
+        EstadoPedido.PENDIENTE, new Zona("ZONA", zonaRefrigerada), requiereRefrigeracion);
+  }
+}
@@ -0,0 +1,198 @@
+package com.josue.pedidos_ms.infrastructure.service;
+
+import com.josue.pedidos_ms.domain.model.Cliente;
+import com.josue.pedidos_ms.domain.model.Zona;
+import com.josue.pedidos_ms.domain.service.RegistroReferencias;
+import com.josue.pedidos_ms.infrastructure.config.CacheConfig;
+import com.josue.pedidos_ms.infrastructure.config.CachesProperties;
+import com.josue.pedidos_ms.infrastructure.repository.ClienteRepository;
+import com.josue.pedidos_ms.infrastructure.repository.ZonaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.cache.CacheManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la difusión de invalidaciones: dos nodos simulados comparten un
+ * {@link CanalInvalidacionLocal} y la misma base de datos.
+ */
+class InvalidacionReferenciasTest {
+
+  private ClienteRepository clienteRepository;
+  private ZonaRepository zonaRepository;
+  private CanalInvalidacion canal;
+
+  @BeforeEach
+  void setUp() {
+    clienteRepository = mock(ClienteRepository.class);
+    zonaRepository = mock(ZonaRepository.class);
+    when(clienteRepository.findAll()).thenReturn(List.of(
+        new Cliente("CLI-1", "Original"), new Cliente("CLI-2", "Otro")));
+    when(zonaRepository.findAll()).thenReturn(List.of(new Zona("ZONA1", true)));
+    canal = new CanalInvalidacionLocal();
+  }
+
+  private record Nodo(CacheManager cacheManager, RegistroReferencias registro,
+      InvalidacionReferencias invalidacion) {
+  }
+
+  private Nodo crearNodo() {
+    return crearNodo(canal);
+  }
+
+  private Nodo crearNodo(CanalInvalidacion canal) {
+    CacheManager cacheManager = new CacheConfig().cacheManager(new CachesProperties());
+    RegistroReferencias registro = new RegistroReferencias(clienteRepository, zonaRepository);
+    registro.refrescar();
+    InvalidacionReferencias invalidacion = new InvalidacionReferencias(canal, cacheManager, registro);
+    invalidacion.suscribir();
+    return new Nodo(cacheManager, registro, invalidacion);
+  }
+
+  @Test
+  void debeInvalidarSoloElClienteAfectadoEnTodosLosNodos() {
+    Nodo origen = crearNodo();
+    Nodo remoto = crearNodo();
+    var clientesRemoto = remoto.cacheManager().getCache("clientes");
+    clientesRemoto.put("CLI-1", Optional.of(new Cliente("CLI-1", "Original")));
+    clientesRemoto.put("existe:CLI-1", true);
+    clientesRemoto.put("CLI-2", Optional.of(new Cliente("CLI-2", "Otro")));
+    reset(clienteRepository);
+    when(clienteRepository.findById("CLI-1")).thenReturn(Optional.of(new Cliente("CLI-1", "Renombrado")));
+
+    origen.invalidacion().invalidarCliente("CLI-1");
+
+    assertNull(clientesRemoto.get("CLI-1"));
+    assertNull(clientesRemoto.get("existe:CLI-1"));
+    assertNotNull(clientesRemoto.get("CLI-2"), "El resto de entradas no debe desalojarse");
+    assertEquals("Renombrado", remoto.registro().instantanea().cliente("CLI-1").getNombre());
+    assertEquals("Renombrado", origen.registro().instantanea().cliente("CLI-1").getNombre());
+    assertEquals("Otro", remoto.registro().instantanea().cliente("CLI-2").getNombre());
+    // Una lectura por nodo, sin recargar la tabla completa
+    verify(clienteRepository, times(2)).findById("CLI-1");
+    verify(clienteRepository, never()).findAll();
+  }
+
+  @Test
+  void debeRetirarDelRegistroLaZonaEliminada() {
+    Nodo origen = crearNodo();
+    Nodo remoto = crearNodo();
+    when(zonaRepository.findById("ZONA1")).thenReturn(Optional.empty());
+
+    origen.invalidacion().invalidarZona("ZONA1");
+
+    assertNull(remoto.registro().instantanea().zona("ZONA1"));
+    assertEquals(2, remoto.registro().instantanea().clientes().size());
+  }
+
+  @Test
+  void debeDifundirLaInvalidacionPorListenNotifyAOtroNodo() throws Exception {
+    List<BlockingQueue<String>> oyentes = new CopyOnWriteArrayList<>();
+    CanalInvalidacionPostgres canalOrigen = new CanalInvalidacionPostgres(postgres(oyentes), Duration.ofMillis(50));
+    CanalInvalidacionPostgres canalRemoto = new CanalInvalidacionPostgres(postgres(oyentes), Duration.ofMillis(50));
+    try {
+      Nodo origen = crearNodo(canalOrigen);
+      Nodo remoto = crearNodo(canalRemoto);
+      esperar(() -> oyentes.size() == 2);
+      when(clienteRepository.findById("CLI-1")).thenReturn(Optional.of(new Cliente("CLI-1", "Renombrado")));
+
+      origen.invalidacion().invalidarCliente("CLI-1");
+
+      esperar(() -> "Renombrado".equals(remoto.registro().instantanea().cliente("CLI-1").getNombre()));
+      assertEquals("Otro", remoto.registro().instantanea().cliente("CLI-2").getNombre());
+      // El origen la aplica una vez al publicarla y descarta su propio aviso
+      verify(clienteRepository, times(2)).findById("CLI-1");
+    } finally {
+      canalOrigen.close();
+      canalRemoto.close();
+    }
+  }
+
+  @Test
+  void debeCodificarLasInvalidacionesDeTablaCompleta() {
+    InvalidacionCache todas = new InvalidacionCache("nodo-1", InvalidacionCache.Tipo.ZONA, null);
+    InvalidacionCache una = new InvalidacionCache("nodo-1", InvalidacionCache.Tipo.CLIENTE, "CLI|1");
+
+    assertEquals(todas, CanalInvalidacionPostgres.decodificar(CanalInvalidacionPostgres.codificar(todas)));
+    assertEquals(una, CanalInvalidacionPostgres.decodificar(CanalInvalidacionPostgres.codificar(una)));
+  }
+
+  /**
+   * DataSource que simula un servidor PostgreSQL: cada {@code pg_notify} se
+   * entrega a todas las conexiones que han ejecutado {@code LISTEN}.
+   */
+  private static DataSource postgres(List<BlockingQueue<String>> oyentes) throws SQLException {
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenAnswer(invocation -> {
+      Connection conexion = mock(Connection.class);
+
+      PreparedStatement notificar = mock(PreparedStatement.class);
+      String[] carga = new String[1];
+      doAnswer(i -> carga[0] = i.getArgument(1)).when(notificar).setString(eq(2), anyString());
+      when(notificar.execute()).thenAnswer(i -> {
+        oyentes.forEach(cola -> cola.add(carga[0]));
+        return true;
+      });
+      when(conexion.prepareStatement(anyString())).thenReturn(notificar);
+
+      BlockingQueue<String> cola = new LinkedBlockingQueue<>();
+      Statement escuchar = mock(Statement.class);
+      when(escuchar.execute(startsWith("LISTEN"))).thenAnswer(i -> oyentes.add(cola));
+      when(conexion.createStatement()).thenReturn(escuchar);
+      PGConnection pg = mock(PGConnection.class);
+      when(pg.getNotifications(anyInt())).thenAnswer(i -> {
+        String aviso = cola.poll(i.<Integer>getArgument(0), TimeUnit.MILLISECONDS);
+        return aviso == null ? null : new PGNotification[] { notificacion(aviso) };
+      });
+      when(conexion.unwrap(PGConnection.class)).thenReturn(pg);
+      return conexion;
+    });
+    return dataSource;
+  }
+
+  private static PGNotification notificacion(String carga) {
+    return new PGNotification() {
+      @Override
+      public String getName() {
+        return CanalInvalidacionPostgres.CANAL;
+      }
+
+      @Override
+      public int getPID() {
+        return 0;
+      }
+
+      @Override
+      public String getParameter() {
+        return carga;
+      }
+    };
+  }
+
+  private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+    long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condicion.getAsBoolean()) {
+      assertTrue(System.nanoTime() < limite, "La condición no se cumplió a tiempo");
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.josue.pedidos_ms.shared.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para validar que BaseLogger no evalúa nada en niveles deshabilitados,
+ * adjunta el evento como clave-valor y registra la excepción como causa
+ */
+class BaseLoggerTest {
+
+  private static final class Servicio extends BaseLogger {
+  }
+
+  private final Servicio servicio = new Servicio();
+  private final Logger logback = (Logger) servicio.logger;
+  private final ListAppender<ILoggingEvent> registros = new ListAppender<>();
+  private Level nivelAnterior;
+
+  @BeforeEach
+  void setUp() {
+    nivelAnterior = logback.getLevel();
+    registros.start();
+    logback.addAppender(registros);
+  }
+
+  @AfterEach
+  void tearDown() {
+    logback.detachAppender(registros);
+    logback.setLevel(nivelAnterior);
+  }
+
+  @Test
+  void noDebeRegistrarNadaEnUnNivelDeshabilitado() {
+    logback.setLevel(Level.INFO);
+    Object argumento = new Object() {
+      @Override
+      public String toString() {
+        throw new AssertionError("No debe formatearse un argumento deshabilitado");
+      }
+    };
+
+    servicio.logDebug(LogEvents.PEDIDO_VALIDO, "Pedido {}", argumento);
+    servicio.logDebug(LogEvents.PEDIDO_VALIDO, "Pedido {} {} {} {}", argumento, argumento, argumento, argumento);
+
+    assertTrue(registros.list.isEmpty());
+  }
+
+  @Test
+  void debeAdjuntarElEventoComoClaveValorYEnElMensaje() {
+    logback.setLevel(Level.DEBUG);
+
+    servicio.logInfo(LogEvents.PEDIDO_GUARDADO, "Guardados {} de {}", 3, 4);
+
+    ILoggingEvent registro = registros.list.get(0);
+    assertEquals("[PEDIDO_GUARDADO] Guardados 3 de 4", registro.getFormattedMessage());
+    assertEquals(List.of(new KeyValuePair(BaseLogger.CLAVE_EVENTO, LogEvents.PEDIDO_GUARDADO)),
+        registro.getKeyValuePairs());
+  }
+
+  @Test
+  void debeRegistrarLaExcepcionFinalComoCausa() {
+    logback.setLevel(Level.DEBUG);
+    IllegalStateException error = new IllegalStateException("fallo");
+
+    servicio.logError(LogEvents.ERROR_BASE_DATOS, "Commit {} revertido (líneas {}-{})", 2, 10, 20, error);
+    servicio.logError(LogEvents.ERROR_SISTEMA, "Error inesperado", error);
+
+    assertEquals("[ERROR_BASE_DATOS] Commit 2 revertido (líneas 10-20)", registros.list.get(0).getFormattedMessage());
+    assertEquals("fallo", registros.list.get(0).getThrowableProxy().getMessage());
+    assertEquals("[ERROR_SISTEMA] Error inesperado", registros.list.get(1).getFormattedMessage());
+    assertEquals("fallo", registros.list.get(1).getThrowableProxy().getMessage());
+  }
+}
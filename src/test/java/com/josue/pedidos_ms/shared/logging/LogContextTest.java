@@ -0,0 +1,69 @@
+package com.josue.pedidos_ms.shared.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para validar que los ámbitos anidados restauran el contexto exterior y
+ * que las tareas envueltas llevan el contexto del hilo que las envía
+ */
+class LogContextTest {
+
+  @AfterEach
+  void tearDown() {
+    MDC.clear();
+  }
+
+  @Test
+  void unAmbitoAnidadoDebeRestaurarElContextoExterior() {
+    MDC.put("traceId", "abc");
+    LogContext.setSolicitud("REQ-1");
+    LogContext.setOperacion("HTTP_REQUEST");
+
+    try (LogContext.Ambito ambito = LogContext.abrir()) {
+      LogContext.setOperacion("CARGA_CSV");
+      LogContext.setLineas(2, 3);
+      LogContext.withPedido("P001", () -> assertEquals("P001", LogContext.getPedido()));
+      assertNull(LogContext.getPedido());
+      assertEquals("2-3", MDC.get("lineas"));
+    }
+
+    assertEquals("HTTP_REQUEST", MDC.get("operacion"));
+    assertEquals("REQ-1", MDC.get("solicitud"));
+    assertNull(MDC.get("lineas"));
+
+    // clear() solo retira las claves propias
+    LogContext.clear();
+    assertNull(MDC.get("solicitud"));
+    assertEquals("abc", MDC.get("traceId"));
+  }
+
+  @Test
+  void unaTareaEnvueltaDebeEjecutarseConElContextoDelLlamador() throws Exception {
+    ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+    try {
+      // El hilo del ejecutor tiene su propio contexto, que debe conservar
+      ejecutor.submit(() -> LogContext.setOperacion("OTRA")).get();
+
+      LogContext.setSolicitud("REQ-2");
+      LogContext.setArchivo("pedidos.csv");
+      String[] visto = ejecutor.submit(LogContext.envolver(() -> {
+        LogContext.setPedido("P009");
+        return new String[] { MDC.get("solicitud"), MDC.get("archivo"), MDC.get("operacion") };
+      })).get();
+      assertArrayEquals(new String[] { "REQ-2", "pedidos.csv", null }, visto);
+
+      String[] despues = ejecutor.submit(() -> new String[] {
+          MDC.get("solicitud"), MDC.get("pedido"), MDC.get("operacion") }).get();
+      assertArrayEquals(new String[] { null, null, "OTRA" }, despues);
+    } finally {
+      ejecutor.shutdownNow();
+    }
+  }
+}
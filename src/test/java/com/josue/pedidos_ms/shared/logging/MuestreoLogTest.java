@@ -0,0 +1,44 @@
+package com.josue.pedidos_ms.shared.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para validar que el muestreo registra las primeras ocurrencias y
+ * después una de cada N, por separado para cada evento
+ */
+class MuestreoLogTest {
+
+  @Test
+  void debeRegistrarLasPrimerasYDespuesUnaDeCadaN() {
+    MuestreoLog muestreo = new MuestreoLog(3, 5);
+
+    List<Integer> registradas = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      if (muestreo.debeRegistrar(LogEvents.PEDIDO_INVALIDO)) {
+        registradas.add(i);
+      }
+    }
+
+    assertEquals(List.of(0, 1, 2, 7, 12, 17), registradas);
+    assertEquals(14, muestreo.omitidos());
+    // Cada evento lleva su propia cuenta
+    assertTrue(muestreo.debeRegistrar(LogEvents.ERROR_VALIDACION));
+  }
+
+  @Test
+  void conCadaCeroSoloDebeRegistrarLasPrimeras() {
+    MuestreoLog muestreo = new MuestreoLog(2, 0);
+
+    assertTrue(muestreo.debeRegistrar(LogEvents.PEDIDO_INVALIDO));
+    assertTrue(muestreo.debeRegistrar(LogEvents.PEDIDO_INVALIDO));
+    for (int i = 0; i < 10; i++) {
+      assertFalse(muestreo.debeRegistrar(LogEvents.PEDIDO_INVALIDO));
+    }
+    assertEquals(10, muestreo.omitidos());
+  }
+}
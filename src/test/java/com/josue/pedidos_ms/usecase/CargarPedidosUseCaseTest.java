@@ -1,16 +1,53 @@
 package com.josue.pedidos_ms.usecase;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import com.josue.pedidos_ms.application.usecase.CargarPedidosUseCase;
 import com.josue.pedidos_ms.domain.model.*;
 import com.josue.pedidos_ms.domain.service.*;
+import com.josue.pedidos_ms.application.usecase.MetricasCarga;
+import com.josue.pedidos_ms.application.usecase.MetricasPipeline;
+import com.josue.pedidos_ms.application.usecase.PedidosConfirmados;
+import com.josue.pedidos_ms.infrastructure.config.CargaEjecutoresConfig;
+import com.josue.pedidos_ms.infrastructure.config.CacheConfig;
+import com.josue.pedidos_ms.infrastructure.config.CachesProperties;
+import com.josue.pedidos_ms.infrastructure.config.CargaProperties;
+import com.josue.pedidos_ms.infrastructure.csv.BytesCsvParser;
+import com.josue.pedidos_ms.infrastructure.csv.OpenCsvParser;
+import com.josue.pedidos_ms.infrastructure.csv.ParserCsv;
 import com.josue.pedidos_ms.infrastructure.repository.*;
 import com.josue.pedidos_ms.shared.dto.ResultadoCargaResponse;
+import com.josue.pedidos_ms.shared.error.CargaRechazadaException;
+import com.josue.pedidos_ms.shared.error.CsvValidationException;
+import com.josue.pedidos_ms.shared.logging.LogContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Optional;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -18,6 +55,7 @@ import static org.mockito.Mockito.*;
 class CargarPedidosUseCaseTest {
 
   private PedidoRepository pedidoRepository;
+  private InsercionMasivaPedidos insercionMasivaPedidos;
   private ClienteRepository clienteRepository;
   private ZonaRepository zonaRepository;
   private PedidoValidator pedidoValidator;
@@ -25,28 +63,78 @@ class CargarPedidosUseCaseTest {
   private ZonaValidator zonaValidator;
   private EstadoValidator estadoValidator;
   private FechaValidator fechaValidator;
+  private RegistroReferencias registroReferencias;
+  private ReferenciasDesconocidas referenciasDesconocidas;
   private CargarPedidosUseCase useCase;
+  private final ThreadPoolExecutor pipelineExecutor = new CargaEjecutoresConfig()
+      .cargaPipelineExecutor(new CargaProperties());
+  private final ForkJoinPool forkJoinPool = new CargaEjecutoresConfig().cargaForkJoinPool(new CargaProperties());
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final MetricasPipeline metricasPipeline = new MetricasPipeline(meterRegistry);
+  private final MetricasCarga metricasCarga = new MetricasCarga(meterRegistry);
+  private final List<Object> eventos = new ArrayList<>();
 
   @BeforeEach
   void setUp() {
     pedidoRepository = mock(PedidoRepository.class);
     clienteRepository = mock(ClienteRepository.class);
     zonaRepository = mock(ZonaRepository.class);
-    pedidoValidator = new PedidoValidator(pedidoRepository);
-    clienteValidator = new ClienteValidator(clienteRepository);
-    zonaValidator = new ZonaValidator(zonaRepository);
+    insercionMasivaPedidos = mock(InsercionMasivaPedidos.class);
+    // Registro sin cargar: todas las referencias se consultan por lote
+    registroReferencias = new RegistroReferencias(clienteRepository, zonaRepository);
+    referenciasDesconocidas = new ReferenciasDesconocidas(
+        new CacheConfig().cacheManager(new CachesProperties()), meterRegistry);
+    when(insercionMasivaPedidos.insertar(anyList()))
+        .thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+    pedidoValidator = new PedidoValidator();
+    clienteValidator = new ClienteValidator();
+    zonaValidator = new ZonaValidator();
     estadoValidator = new EstadoValidator();
     fechaValidator = new FechaValidator();
 
-    useCase = new CargarPedidosUseCase(
-        pedidoRepository,
-        clienteRepository,
-        zonaRepository,
+    useCase = crearUseCase(new CargaProperties());
+  }
+
+  private CargarPedidosUseCase crearUseCase(CargaProperties properties) {
+    return crearUseCase(properties, eventos::add);
+  }
+
+  private CargarPedidosUseCase crearUseCase(CargaProperties properties, ApplicationEventPublisher publicador) {
+    return crearUseCase(properties, publicador, new OpenCsvParser());
+  }
+
+  private CargarPedidosUseCase crearUseCase(CargaProperties properties, ApplicationEventPublisher publicador,
+      ParserCsv parser) {
+    return new CargarPedidosUseCase(
+        insercionMasivaPedidos,
+        new ResolutorReferencias(clienteRepository, zonaRepository, pedidoRepository, registroReferencias,
+            referenciasDesconocidas),
         pedidoValidator,
         clienteValidator,
         zonaValidator,
         estadoValidator,
-        fechaValidator);
+        fechaValidator,
+        properties,
+        parser,
+        forkJoinPool,
+        pipelineExecutor,
+        metricasPipeline,
+        metricasCarga,
+        publicador);
+  }
+
+  private void registrarClientes(Cliente... clientes) {
+    when(clienteRepository.buscarClientesPorIds(anyCollection())).thenAnswer(invocation -> {
+      Collection<String> ids = invocation.getArgument(0);
+      return Arrays.stream(clientes).filter(cliente -> ids.contains(cliente.getId())).toList();
+    });
+  }
+
+  private void registrarZonas(Zona... zonas) {
+    when(zonaRepository.buscarZonasPorIds(anyCollection())).thenAnswer(invocation -> {
+      Collection<String> ids = invocation.getArgument(0);
+      return Arrays.stream(zonas).filter(zona -> ids.contains(zona.getId())).toList();
+    });
   }
 
   @Test
@@ -62,14 +150,9 @@ class CargarPedidosUseCaseTest {
         "text/csv",
         csv.getBytes(StandardCharsets.UTF_8));
 
-    // Setup mocks - Usando nuevos métodos JPQL
-    when(pedidoRepository.existePedido("P001")).thenReturn(false);
-    when(clienteRepository.buscarCliente("CLI-123")).thenReturn(Optional.of(new Cliente("CLI-123", "Cliente Test")));
-    when(zonaRepository.buscarZona("ZONA1")).thenReturn(Optional.of(new Zona("ZONA1", true)));
-
-    when(pedidoRepository.existePedido("P002")).thenReturn(false);
-    when(clienteRepository.buscarCliente("CLI-999")).thenReturn(Optional.empty());
-    when(zonaRepository.buscarZona("ZONA2")).thenReturn(Optional.empty());
+    // Setup mocks - Referencias resueltas por lote (CLI-999 y ZONA2 no existen)
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
 
     // Ejecutar
     ResultadoCargaResponse resultado = useCase.procesarArchivo(file);
@@ -77,5 +160,518 @@ class CargarPedidosUseCaseTest {
     assertEquals(2, resultado.totalRegistros());
     assertEquals(1, resultado.registrosGuardados());
     assertTrue(resultado.tieneErrores());
+
+    // Una consulta por tipo de entidad para todo el lote, sin búsquedas por fila
+    verify(clienteRepository, times(1)).buscarClientesPorIds(anyCollection());
+    verify(zonaRepository, times(1)).buscarZonasPorIds(anyCollection());
+    verify(clienteRepository, never()).buscarCliente(any());
+    verify(zonaRepository, never()).buscarZona(any());
+    verify(pedidoRepository, times(1)).buscarNumerosExistentes(anyCollection());
+    verify(pedidoRepository, never()).existePedido(any());
+
+    // El bloque confirmado se publica con lo que ha tocado
+    PedidosConfirmados confirmados = (PedidosConfirmados) eventos.get(0);
+    assertEquals(Set.of("CLI-123"), confirmados.clientes());
+    assertEquals(Set.of(EstadoPedido.PENDIENTE), confirmados.estados());
+    assertFalse(confirmados.tocaConflictosRefrigeracion());
+
+    // Métricas de la carga, por resultado y por validador
+    assertEquals(1, meterRegistry.get("pedidos.carga.filas").tag("resultado", "guardada").counter().count());
+    assertEquals(1, meterRegistry.get("pedidos.carga.filas").tag("resultado", "rechazada").counter().count());
+    assertEquals(1, meterRegistry.get("pedidos.carga.validador.filas")
+        .tags("validador", "fecha", "resultado", "rechazada").counter().count());
+    assertEquals(2, meterRegistry.get("pedidos.carga.validador.filas")
+        .tags("validador", "pedido", "resultado", "valida").counter().count());
+    assertEquals(1, meterRegistry.get("pedidos.carga.duracion").tag("resultado", "con_errores").timer().count());
+    assertEquals(csv.length(), meterRegistry.get("pedidos.carga.archivo.tamano")
+        .tag("resultado", "con_errores").summary().totalAmount());
+    assertEquals(1, meterRegistry.get("pedidos.carga.etapa.tiempo")
+        .tags("etapa", "persistencia", "resultado", "ok").timer().count());
+    assertEquals(0, meterRegistry.get("pedidos.carga.activas").gauge().value());
+  }
+
+  @Test
+  void debeResolverClientesYZonasDesdeElRegistroSinConsultar() {
+    when(clienteRepository.findAll()).thenReturn(List.of(new Cliente("CLI-123", "Cliente Test")));
+    when(zonaRepository.findAll()).thenReturn(List.of(new Zona("ZONA1", true)));
+    registroReferencias.refrescar();
+
+    // CLI-NUEVO aún no está en el registro: se consulta solo ese ID
+    registrarClientes(new Cliente("CLI-NUEVO", "Cliente Nuevo"));
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "P002,CLI-123,2099-08-11,PENDIENTE,ZONA1,false\n" +
+        "P003,CLI-NUEVO,2099-08-12,PENDIENTE,ZONA1,false\n";
+
+    ResultadoCargaResponse resultado = useCase.procesarArchivo(archivo(csv));
+
+    assertEquals(3, resultado.registrosGuardados());
+    verify(clienteRepository).buscarClientesPorIds(List.of("CLI-NUEVO"));
+    verify(zonaRepository, never()).buscarZonasPorIds(anyCollection());
+  }
+
+  @Test
+  void debeConsultarUnaSolaVezLosIdsInexistentes() {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-999,2099-08-10,PENDIENTE,ZONA9,true\n" +
+        "P002,CLI-123,2099-08-11,PENDIENTE,ZONA1,true\n" +
+        "P003,CLI-999,2099-08-12,PENDIENTE,ZONA9,true\n" +
+        "P004,CLI-999,2099-08-13,PENDIENTE,ZONA1,true\n";
+
+    CargaProperties properties = new CargaProperties();
+    properties.setTamanoLote(2);
+    useCase = crearUseCase(properties);
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    ResultadoCargaResponse resultado = useCase.procesarArchivo(archivo(csv));
+
+    assertEquals(1, resultado.registrosGuardados());
+    // Un error por campo: cliente y zona en P001 y P003, solo cliente en P004
+    assertEquals(5, resultado.errores().size());
+    // El segundo lote ya sabe que CLI-999 y ZONA9 no existen
+    verify(clienteRepository, times(1)).buscarClientesPorIds(argThat(ids -> ids.contains("CLI-999")));
+    verify(zonaRepository, times(1)).buscarZonasPorIds(argThat(ids -> ids.contains("ZONA9")));
+    assertTrue(meterRegistry.get("pedidos.referencias.desconocidas.aciertos")
+        .tag("tipo", "cliente").gauge().value() > 0);
+  }
+
+  @Test
+  void debeRechazarPedidosDuplicadosEnBaseDeDatosYEnElArchivo() {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "P002,CLI-123,2099-08-11,PENDIENTE,ZONA1,true\n" +
+        "P003,CLI-123,2099-08-12,PENDIENTE,ZONA1,true\n" +
+        "P002,CLI-123,2099-08-13,PENDIENTE,ZONA1,true\n" +
+        "P004,CLI-123,2099-08-14,PENDIENTE,ZONA1,true\n";
+
+    CargaProperties properties = new CargaProperties();
+    properties.setTamanoLote(2);
+    useCase = crearUseCase(properties);
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+    when(pedidoRepository.buscarNumerosExistentes(anyCollection())).thenAnswer(invocation -> {
+      Collection<String> numeros = invocation.getArgument(0);
+      return numeros.stream().filter("P003"::equals).toList();
+    });
+
+    ResultadoCargaResponse resultado = useCase.procesarArchivo(archivo(csv));
+
+    assertEquals(5, resultado.totalRegistros());
+    assertEquals(3, resultado.registrosGuardados());
+    assertEquals(2, resultado.errores().size());
+    // P003 ya existía en base de datos; la segunda aparición de P002 (en otro lote) se rechaza
+    assertEquals(4, resultado.errores().get(0).linea());
+    assertEquals("Número de pedido duplicado", resultado.errores().get(0).motivo());
+    assertEquals(5, resultado.errores().get(1).linea());
+    assertEquals("Número de pedido duplicado en el archivo", resultado.errores().get(1).motivo());
+  }
+
+  @Test
+  void debeInformarElTotalRealDeErroresAunqueElDetalleSeTrunque() {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-999,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "P002,CLI-999,2099-08-11,PENDIENTE,ZONA1,true\n" +
+        "P003,CLI-999,2099-08-12,PENDIENTE,ZONA1,true\n" +
+        "P004,CLI-123,2099-08-13,PENDIENTE,ZONA1,true\n";
+
+    CargaProperties properties = new CargaProperties();
+    properties.setMaxErrores(1);
+    useCase = crearUseCase(properties);
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    ResultadoCargaResponse resultado = useCase.procesarArchivo(archivo(csv));
+
+    assertEquals(1, resultado.registrosGuardados());
+    assertEquals(3, resultado.totalErrores());
+    // Un detalle real más el resumen de los omitidos
+    assertEquals(2, resultado.errores().size());
+    assertEquals("ERRORES_OMITIDOS", resultado.errores().get(1).tipo());
+  }
+
+  @Test
+  void modoPipelineDebeRechazarLaCargaSiNoHayHilosParaSusEtapas() throws InterruptedException {
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+    CargaProperties pipeline = new CargaProperties();
+    pipeline.setModo(CargaProperties.ModoCarga.PIPELINE);
+    useCase = crearUseCase(pipeline);
+
+    // Otras cargas ocupan todos los hilos del pool
+    CountDownLatch liberar = new CountDownLatch(1);
+    for (int i = 0; i < pipelineExecutor.getMaximumPoolSize(); i++) {
+      pipelineExecutor.execute(() -> {
+        try {
+          liberar.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+    try {
+      assertThrows(CargaRechazadaException.class, () -> useCase.procesarArchivo(archivo(csvMixto(10))));
+      verify(insercionMasivaPedidos, never()).insertar(anyList());
+    } finally {
+      liberar.countDown();
+    }
+  }
+
+  @Test
+  void debeDecodificarFechaEstadoYRefrigeracionUnaSolaVez() {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-123,2099-08-10,confirmado,ZONA1,TRUE\n" +
+        "P002,CLI-123,2099-02-30,PENDIENTE,ZONA1,false\n";
+
+    MockMultipartFile file = new MockMultipartFile(
+        "file",
+        "pedidos.csv",
+        "text/csv",
+        csv.getBytes(StandardCharsets.UTF_8));
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    ResultadoCargaResponse resultado = useCase.procesarArchivo(file);
+
+    // El estado en minúsculas se acepta y se convierte con el mismo valor validado
+    assertEquals(1, resultado.registrosGuardados());
+    PedidosConfirmados confirmados = (PedidosConfirmados) eventos.get(0);
+    Pedido pedido = confirmados.pedidos().get(0);
+    assertEquals(EstadoPedido.CONFIRMADO, pedido.getEstado());
+    assertEquals(LocalDate.of(2099, 8, 10), pedido.getFechaEntrega());
+    assertTrue(pedido.isRequiereRefrigeracion());
+
+    // Una fecha inexistente es un error de formato, no un fallo de conversión
+    assertEquals(1, resultado.errores().size());
+    assertEquals(3, resultado.errores().get(0).linea());
+    assertEquals("Formato de fecha inválido", resultado.errores().get(0).motivo());
+  }
+
+  @Test
+  void debeGuardarPorLotesSinAcumularTodoElArchivo() {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "P002,CLI-123,2099-08-11,CONFIRMADO,ZONA1,false\n" +
+        "P003,CLI-123,2099-08-12,PENDIENTE,ZONA1,false\n";
+
+    MockMultipartFile file = new MockMultipartFile(
+        "file",
+        "pedidos.csv",
+        "text/csv",
+        csv.getBytes(StandardCharsets.UTF_8));
+
+    CargaProperties properties = new CargaProperties();
+    properties.setTamanoLote(2);
+    properties.setTamanoCommit(2);
+    useCase = crearUseCase(properties);
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    ResultadoCargaResponse resultado = useCase.procesarArchivo(file);
+
+    assertEquals(3, resultado.totalRegistros());
+    assertEquals(3, resultado.registrosGuardados());
+    assertFalse(resultado.tieneErrores());
+    // Un lote completo de 2 y un lote final de 1
+    verify(insercionMasivaPedidos, times(2)).insertar(anyList());
+  }
+
+  @Test
+  void debeConfirmarPorBloquesYRevertirSoloElBloqueQueFalla() {
+    StringBuilder csv = new StringBuilder(
+        "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n");
+    for (int i = 1; i <= 7; i++) {
+      csv.append("P").append(i).append(",CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n");
+    }
+
+    CargaProperties properties = new CargaProperties();
+    properties.setTamanoLote(2);
+    properties.setTamanoCommit(3);
+    useCase = crearUseCase(properties);
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+    when(insercionMasivaPedidos.insertar(anyList()))
+        .thenReturn(3)
+        .thenThrow(new IllegalStateException("violación de clave"))
+        .thenReturn(1);
+
+    ResultadoCargaResponse resultado = useCase.procesarArchivo(archivo(csv.toString()));
+
+    assertEquals(7, resultado.totalRegistros());
+    assertEquals(4, resultado.registrosGuardados());
+    assertEquals(List.of(
+        new ResultadoCargaResponse.CommitLote(1, 2, 4, 3, "CONFIRMADO"),
+        new ResultadoCargaResponse.CommitLote(2, 5, 7, 3, "REVERTIDO"),
+        new ResultadoCargaResponse.CommitLote(3, 8, 8, 1, "CONFIRMADO")),
+        resultado.commits());
+    assertEquals(1, resultado.errores().size());
+    assertEquals("ERROR_PERSISTENCIA", resultado.errores().get(0).tipo());
+    assertEquals(5, resultado.errores().get(0).linea());
+    // Solo los bloques confirmados se publican
+    assertEquals(List.of(3, 1),
+        eventos.stream().map(evento -> ((PedidosConfirmados) evento).pedidos().size()).toList());
+  }
+
+  @Test
+  void unListenerQueFallaNoDebeRevertirUnBloqueYaConfirmado() {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "P002,CLI-123,2099-08-11,PENDIENTE,ZONA1,false\n";
+
+    CargaProperties properties = new CargaProperties();
+    properties.setTamanoCommit(1);
+    useCase = crearUseCase(properties, evento -> {
+      throw new IllegalStateException("Listener roto");
+    });
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    ResultadoCargaResponse resultado = useCase.procesarArchivo(archivo(csv));
+
+    assertEquals(2, resultado.registrosGuardados());
+    assertFalse(resultado.tieneErrores());
+    assertEquals(2, resultado.commits().size());
+    assertTrue(resultado.commits().stream()
+        .allMatch(commit -> ResultadoCargaResponse.CommitLote.CONFIRMADO.equals(commit.estado())));
+    assertEquals(2, meterRegistry.get("pedidos.carga.filas").tag("resultado", "guardada").counter().count());
+  }
+
+  @Test
+  void modoParaleloDebeReportarLosMismosErroresQueElSecuencial() {
+    String csv = csvMixto(50);
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    CargaProperties secuencial = new CargaProperties();
+    ResultadoCargaResponse esperado = crearUseCase(secuencial).procesarArchivo(archivo(csv));
+
+    CargaProperties paralelo = new CargaProperties();
+    paralelo.setModo(CargaProperties.ModoCarga.PARALELO);
+    paralelo.setTamanoLote(4);
+    // Segmentos sobre el archivo mapeado y lectura en streaming con OpenCSV
+    for (ParserCsv parser : List.of(new BytesCsvParser(), new OpenCsvParser())) {
+      ResultadoCargaResponse resultado = crearUseCase(paralelo, eventos::add, parser)
+          .procesarArchivo(archivo(csv));
+
+      assertEquals(esperado.totalRegistros(), resultado.totalRegistros());
+      assertEquals(esperado.registrosGuardados(), resultado.registrosGuardados());
+      assertEquals(esperado.errores(), resultado.errores());
+      assertEquals(esperado.commits(), resultado.commits());
+    }
+  }
+
+  @Test
+  void modoParaleloDebeLeerEnStreamingUnArchivoQueNoCabeEnUnMapeo() {
+    String csv = csvMixto(20);
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+    ResultadoCargaResponse esperado = crearUseCase(new CargaProperties()).procesarArchivo(archivo(csv));
+
+    // Solo se falsea el tamaño declarado por el upload; el contenido es pequeño
+    MockMultipartFile grande = new MockMultipartFile("file", "pedidos.csv", "text/csv",
+        csv.getBytes(StandardCharsets.UTF_8)) {
+      @Override
+      public long getSize() {
+        return BytesCsvParser.TAMANO_MAXIMO + 1;
+      }
+    };
+    CargaProperties paralelo = new CargaProperties();
+    paralelo.setModo(CargaProperties.ModoCarga.PARALELO);
+    paralelo.setTamanoLote(4);
+    ResultadoCargaResponse resultado = crearUseCase(paralelo, eventos::add, new BytesCsvParser())
+        .procesarArchivo(grande);
+
+    assertEquals(esperado.totalRegistros(), resultado.totalRegistros());
+    assertEquals(esperado.registrosGuardados(), resultado.registrosGuardados());
+    assertEquals(esperado.errores(), resultado.errores());
+  }
+
+  @Test
+  void modoPipelineDebeReportarLoMismoQueElSecuencialConPersistenciaLenta() {
+    String csv = csvMixto(200);
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    CargaProperties secuencial = new CargaProperties();
+    secuencial.setTamanoCommit(10);
+    ResultadoCargaResponse esperado = crearUseCase(secuencial).procesarArchivo(archivo(csv));
+
+    // Base de datos lenta: la lectura debe frenar en lugar de acumular lotes
+    when(insercionMasivaPedidos.insertar(anyList())).thenAnswer(invocation -> {
+      Thread.sleep(5);
+      return invocation.<List<?>>getArgument(0).size();
+    });
+    CargaProperties pipeline = new CargaProperties();
+    pipeline.setModo(CargaProperties.ModoCarga.PIPELINE);
+    pipeline.setTamanoLote(5);
+    pipeline.setTamanoCommit(10);
+    pipeline.setParalelismo(3);
+    pipeline.getPipeline().setCapacidadCola(2);
+    ResultadoCargaResponse resultado = crearUseCase(pipeline).procesarArchivo(archivo(csv));
+
+    assertEquals(esperado.totalRegistros(), resultado.totalRegistros());
+    assertEquals(esperado.registrosGuardados(), resultado.registrosGuardados());
+    assertEquals(esperado.errores(), resultado.errores());
+    assertEquals(esperado.commits(), resultado.commits());
+
+    // Cada etapa registra su throughput y las colas quedan vacías al terminar
+    assertEquals(resultado.totalRegistros(),
+        meterRegistry.get("pedidos.carga.pipeline.filas").tag("etapa", "persistencia").counter().count());
+    assertEquals(0, meterRegistry.get("pedidos.carga.pipeline.cola").tag("cola", "lectura").gauge().value());
+  }
+
+  @Test
+  void modoPipelineDebePropagarErroresDeLectura() {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "\"P002,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n";
+
+    CargaProperties pipeline = new CargaProperties();
+    pipeline.setModo(CargaProperties.ModoCarga.PIPELINE);
+    useCase = crearUseCase(pipeline);
+
+    assertThrows(CsvValidationException.class, () -> useCase.procesarArchivo(archivo(csv)));
+  }
+
+  @Test
+  void debeEmitirEventosJfrDelCicloDeVidaYDeFilasLentas() throws IOException {
+    String csv = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n" +
+        "P001,CLI-123,2099-08-10,PENDIENTE,ZONA1,true\n" +
+        "P002,CLI-999,2099-08-11,PENDIENTE,ZONA1,false\n" +
+        "P003,CLI-123,2099-08-12,PENDIENTE,ZONA1,false\n";
+
+    CargaProperties properties = new CargaProperties();
+    properties.setTamanoLote(2);
+    // Con umbral cero todas las filas cuentan como lentas
+    properties.setUmbralFilaLenta(Duration.ZERO);
+    useCase = crearUseCase(properties);
+
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    Path volcado = Files.createTempFile("carga", ".jfr");
+    List<RecordedEvent> registrados;
+    try (Recording grabacion = new Recording()) {
+      for (String evento : List.of("Inicio", "Fin", "Lectura", "Validacion", "Persistencia", "FilaLenta")) {
+        grabacion.enable("pedidos.carga." + evento).withoutThreshold();
+      }
+      grabacion.start();
+      useCase.procesarArchivo(archivo(csv));
+      grabacion.stop();
+      grabacion.dump(volcado);
+      registrados = RecordingFile.readAllEvents(volcado);
+    } finally {
+      Files.deleteIfExists(volcado);
+    }
+    var porTipo = registrados.stream()
+        .collect(Collectors.groupingBy(evento -> evento.getEventType().getName()));
+
+    RecordedEvent inicio = porTipo.get("pedidos.carga.Inicio").get(0);
+    assertEquals("pedidos.csv", inicio.getString("archivo"));
+    assertEquals(csv.length(), inicio.getLong("bytes"));
+
+    RecordedEvent fin = porTipo.get("pedidos.carga.Fin").get(0);
+    assertEquals(3, fin.getLong("filas"));
+    assertEquals(2, fin.getLong("guardados"));
+    assertEquals(1, fin.getLong("errores"));
+    assertEquals("con_errores", fin.getString("resultado"));
+
+    // Dos lotes: líneas 2-3 y línea 4
+    assertEquals(2, porTipo.get("pedidos.carga.Lectura").size());
+    List<RecordedEvent> validaciones = porTipo.get("pedidos.carga.Validacion");
+    assertEquals(2, validaciones.size());
+    RecordedEvent primerLote = validaciones.stream()
+        .filter(evento -> evento.getInt("lineaInicial") == 2).findFirst().orElseThrow();
+    assertEquals(3, primerLote.getInt("lineaFinal"));
+    assertEquals(1, primerLote.getInt("rechazadas"));
+
+    RecordedEvent persistencia = porTipo.get("pedidos.carga.Persistencia").get(0);
+    assertEquals(2, persistencia.getInt("pedidos"));
+    assertTrue(persistencia.getBoolean("confirmado"));
+
+    assertEquals(Set.of("P001", "P002", "P003"), porTipo.get("pedidos.carga.FilaLenta").stream()
+        .map(evento -> evento.getString("numeroPedido")).collect(Collectors.toSet()));
+  }
+
+  @Test
+  void debePropagarElContextoDeLogALosHilosDeCargaSinBorrarElDelLlamador() {
+    CargaProperties paralelo = new CargaProperties();
+    paralelo.setModo(CargaProperties.ModoCarga.PARALELO);
+    paralelo.setTamanoLote(10);
+    useCase = crearUseCase(paralelo);
+    registrarClientes(new Cliente("CLI-123", "Cliente Test"));
+    registrarZonas(new Zona("ZONA1", true));
+
+    // El MDC se lee al registrar, antes de que el hilo de carga cambie de tarea
+    ListAppender<ILoggingEvent> registros = new ListAppender<>() {
+      @Override
+      protected void append(ILoggingEvent evento) {
+        evento.prepareForDeferredProcessing();
+        super.append(evento);
+      }
+    };
+    Logger logback = (Logger) LoggerFactory.getLogger(CargarPedidosUseCase.class);
+    registros.start();
+    logback.addAppender(registros);
+    try {
+      LogContext.setSolicitud("REQ-1");
+      LogContext.setOperacion("HTTP_REQUEST");
+
+      useCase.procesarArchivo(archivo(csvMixto(30)));
+
+      // El contexto del llamador sigue intacto tras la carga
+      assertEquals("REQ-1", MDC.get("solicitud"));
+      assertEquals("HTTP_REQUEST", MDC.get("operacion"));
+      assertNull(MDC.get("archivo"));
+    } finally {
+      logback.detachAppender(registros);
+      MDC.clear();
+    }
+
+    List<ILoggingEvent> desdeHilosDeCarga = registros.list.stream()
+        .filter(evento -> evento.getThreadName().startsWith("carga-paralela-"))
+        .toList();
+    assertFalse(desdeHilosDeCarga.isEmpty());
+    for (ILoggingEvent evento : desdeHilosDeCarga) {
+      assertEquals("REQ-1", evento.getMDCPropertyMap().get("solicitud"));
+      assertEquals("pedidos.csv", evento.getMDCPropertyMap().get("archivo"));
+      assertNotNull(evento.getMDCPropertyMap().get("lineas"));
+    }
+    // Convertir un pedido válido no deja su operación a las filas rechazadas
+    // que le siguen
+    List<ILoggingEvent> rechazos = desdeHilosDeCarga.stream()
+        .filter(evento -> evento.getLevel() == Level.WARN)
+        .toList();
+    assertFalse(rechazos.isEmpty());
+    for (ILoggingEvent evento : rechazos) {
+      assertEquals("CARGA_CSV", evento.getMDCPropertyMap().get("operacion"));
+    }
+  }
+
+  private String csvMixto(int filas) {
+    StringBuilder csv = new StringBuilder(
+        "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n");
+    for (int i = 1; i <= filas; i++) {
+      String cliente = i % 3 == 0 ? "CLI-999" : "CLI-123";
+      String estado = i % 4 == 0 ? "INVALIDO" : "PENDIENTE";
+      csv.append("P").append(i).append(',').append(cliente).append(",2099-08-10,")
+          .append(estado).append(",ZONA1,true\n");
+      if (i % 7 == 0) {
+        csv.append("P").append(i).append("-INCOMPLETO,CLI-123\n");
+      }
+    }
+    return csv.toString();
+  }
+
+  private MockMultipartFile archivo(String csv) {
+    return new MockMultipartFile("file", "pedidos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
   }
 }
@@ -0,0 +1,55 @@
+package com.josue.pedidos_ms.usecase;
+
+import com.josue.pedidos_ms.application.usecase.EstadisticasCarga;
+import com.josue.pedidos_ms.application.usecase.MetricasCarga;
+import com.josue.pedidos_ms.domain.service.EstadoValidator;
+import com.josue.pedidos_ms.domain.service.FechaValidator;
+import com.josue.pedidos_ms.domain.service.FilaPedido;
+import com.josue.pedidos_ms.domain.service.ValidacionPedido;
+import com.josue.pedidos_ms.shared.dto.PedidoCsvDTO;
+import com.josue.pedidos_ms.shared.logging.MuestreoLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para validar que las estadísticas de una carga agrupan los errores
+ * por código y por validador y acumulan el tiempo por etapa
+ */
+class EstadisticasCargaTest {
+
+  @Test
+  void debeAgruparErroresPorCodigoYPorValidador() {
+    EstadisticasCarga estadisticas = new EstadisticasCarga(new MuestreoLog(10, 10),
+        new MetricasCarga(new SimpleMeterRegistry()));
+
+    estadisticas.registrar(rechazar("2000-01-01", "PENDIENTE"));
+    estadisticas.registrar(rechazar("2000-02-30", "ANULADO"));
+    estadisticas.registrar(rechazar("2099-01-01", ""));
+    estadisticas.registrar(EstadisticasCarga.FILA_INCOMPLETA);
+    estadisticas.medir(EstadisticasCarga.Etapa.VALIDACION, TimeUnit.MILLISECONDS.toNanos(7));
+    estadisticas.medir(EstadisticasCarga.Etapa.VALIDACION, TimeUnit.MILLISECONDS.toNanos(5));
+
+    assertEquals(Map.of(
+        "FECHA_FORMATO_INVALIDO", 1L,
+        "FECHA_PASADA", 1L,
+        "ESTADO_VACIO", 1L,
+        "ESTADO_INVALIDO", 1L,
+        "FILA_INCOMPLETA", 1L), estadisticas.histogramaErrores());
+    assertEquals(Map.of("fecha", 2L, "estado", 2L), estadisticas.rechazosPorValidador());
+    assertEquals(12L, estadisticas.milisPorEtapa().get(EstadisticasCarga.Etapa.VALIDACION));
+    assertEquals(0L, estadisticas.milisPorEtapa().get(EstadisticasCarga.Etapa.PERSISTENCIA));
+  }
+
+  private static ValidacionPedido rechazar(String fecha, String estado) {
+    ValidacionPedido validacion = new ValidacionPedido(FilaPedido.decodificar(
+        new PedidoCsvDTO("P001", "CLI-123", fecha, estado, "ZONA1", "false")));
+    new FechaValidator().validarFecha(validacion, 20_000);
+    new EstadoValidator().validarEstado(validacion);
+    return validacion;
+  }
+}
@@ -0,0 +1,65 @@
+package com.josue.pedidos_ms.usecase;
+
+import com.josue.pedidos_ms.application.usecase.ExportarPedidosUseCase;
+import com.josue.pedidos_ms.domain.model.EstadoPedido;
+import com.josue.pedidos_ms.infrastructure.csv.ArchivoCsv;
+import com.josue.pedidos_ms.infrastructure.csv.BytesCsvParser;
+import com.josue.pedidos_ms.infrastructure.csv.FilaCsv;
+import com.josue.pedidos_ms.infrastructure.csv.LectorCsv;
+import com.josue.pedidos_ms.infrastructure.csv.OpenCsvParser;
+import com.josue.pedidos_ms.infrastructure.csv.ParserCsv;
+import com.josue.pedidos_ms.infrastructure.repository.PedidoRepository;
+import com.josue.pedidos_ms.shared.dto.PedidoResumen;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para validar que un archivo exportado se vuelve a leer igual con los
+ * parsers de la carga
+ */
+class ExportarPedidosUseCaseTest {
+
+  @Test
+  void debeExportarTextosQueLaCargaLeeSinCambios() throws IOException {
+    List<PedidoResumen> pedidos = List.of(
+        new PedidoResumen("P\\1", "CLI-123", LocalDate.of(2099, 8, 10), EstadoPedido.PENDIENTE, "ZONA1", true),
+        new PedidoResumen("P\"2,\\", "CLI\\\"3", LocalDate.of(2099, 8, 11), EstadoPedido.CONFIRMADO,
+            "ZONA\\\\1", false),
+        new PedidoResumen("P3", "CLI-123", LocalDate.of(2099, 8, 12), EstadoPedido.ENTREGADO, "ZONA,2", false));
+    PedidoRepository pedidoRepository = mock(PedidoRepository.class);
+    when(pedidoRepository.exportarTodos()).thenReturn(pedidos.stream());
+    ExportarPedidosUseCase useCase = new ExportarPedidosUseCase(pedidoRepository);
+
+    ByteArrayOutputStream salida = new ByteArrayOutputStream();
+    useCase.exportar(useCase.preparar(null, null, null), salida, false);
+    MockMultipartFile exportado = new MockMultipartFile("file", "pedidos.csv", "text/csv", salida.toByteArray());
+
+    for (ParserCsv parser : List.of(new OpenCsvParser(), new BytesCsvParser())) {
+      assertEquals(pedidos, leer(parser, exportado), parser.getClass().getSimpleName());
+    }
+  }
+
+  private static List<PedidoResumen> leer(ParserCsv parser, MockMultipartFile file) {
+    List<PedidoResumen> leidos = new ArrayList<>();
+    try (ArchivoCsv archivo = ArchivoCsv.de(file); LectorCsv lector = parser.abrir(archivo)) {
+      // Cabecera
+      lector.siguiente();
+      FilaCsv fila;
+      while ((fila = lector.siguiente()) != null) {
+        leidos.add(new PedidoResumen(fila.campo(0), fila.campo(1), LocalDate.parse(fila.campo(2)),
+            EstadoPedido.valueOf(fila.campo(3)), fila.campo(4), Boolean.parseBoolean(fila.campo(5))));
+      }
+    }
+    return leidos;
+  }
+}
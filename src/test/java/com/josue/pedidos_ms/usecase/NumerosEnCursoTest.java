@@ -0,0 +1,77 @@
+package com.josue.pedidos_ms.usecase;
+
+import com.josue.pedidos_ms.application.usecase.NumerosEnCurso;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para validar que los números de pedido de una carga solo se retienen
+ * mientras algún lote en validación no pueda verlos en base de datos
+ */
+class NumerosEnCursoTest {
+
+  @Test
+  void debeRechazarRepetidosPendientesDeConfirmar() {
+    NumerosEnCurso numeros = new NumerosEnCurso();
+    int vistos = numeros.iniciarLote();
+
+    assertTrue(numeros.aceptar("P001"));
+    assertFalse(numeros.aceptar("P001"));
+    numeros.terminarLote(vistos);
+
+    assertEquals(1, numeros.retenidos());
+  }
+
+  @Test
+  void debeRetenerUnBloqueConfirmadoMientrasUnLoteQueNoLoVioSigaEnVuelo() {
+    NumerosEnCurso numeros = new NumerosEnCurso();
+    int primero = numeros.iniciarLote();
+    numeros.aceptar("P001");
+    numeros.terminarLote(primero);
+
+    // El segundo lote consulta la base de datos antes de que se confirme P001
+    int segundo = numeros.iniciarLote();
+    numeros.cerrarBloque(List.of("P001"), true);
+
+    assertFalse(numeros.aceptar("P001"));
+    numeros.terminarLote(segundo);
+
+    // Los lotes siguientes ya ven P001 en base de datos
+    assertEquals(0, numeros.retenidos());
+  }
+
+  @Test
+  void debeOlvidarLosNumerosDeUnBloqueRevertido() {
+    NumerosEnCurso numeros = new NumerosEnCurso();
+    int vistos = numeros.iniciarLote();
+    numeros.aceptar("P001");
+    numeros.cerrarBloque(List.of("P001"), false);
+
+    assertTrue(numeros.aceptar("P001"));
+    numeros.terminarLote(vistos);
+  }
+
+  @Test
+  void debeRetenerSoloLoQueEstaEnCursoSinImportarElTamanoDelArchivo() {
+    NumerosEnCurso numeros = new NumerosEnCurso();
+    int maximo = 0;
+    List<String> anterior = List.of();
+    for (int lote = 0; lote < 1_000; lote++) {
+      // El lote siguiente empieza a validarse antes de confirmar el anterior
+      int vistos = numeros.iniciarLote();
+      numeros.cerrarBloque(anterior, true);
+      List<String> bloque = List.of("P" + lote + "-1", "P" + lote + "-2");
+      bloque.forEach(numeros::aceptar);
+      maximo = Math.max(maximo, numeros.retenidos());
+      numeros.terminarLote(vistos);
+      anterior = bloque;
+    }
+    numeros.cerrarBloque(anterior, true);
+
+    assertEquals(4, maximo);
+    assertEquals(0, numeros.retenidos());
+  }
+}